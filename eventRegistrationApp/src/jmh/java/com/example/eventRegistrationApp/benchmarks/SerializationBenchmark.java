@@ -0,0 +1,84 @@
+package com.example.eventRegistrationApp.benchmarks;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Writing the list responses to bytes, with an ObjectMapper set up the way Spring Boot builds it
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Event> events;
+    private List<User> users;
+    private List<Registrations> registrations;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+        events = new ArrayList<>(size);
+        users = new ArrayList<>(size);
+        registrations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Event event = new Event(new ObjectId(), "Event " + i, "Hall " + random.nextInt(50),
+                    start.plusHours(random.nextInt(24 * 365)), 50 + random.nextInt(500));
+            User user = User.builder()
+                    .id(new ObjectId())
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("user" + i + "@example.com")
+                    .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6A3h6ZLx0Vx1ZJqJ8Xq5K6y")
+                    .build();
+            events.add(event);
+            users.add(user);
+            registrations.add(Registrations.of(user, event));
+        }
+    }
+
+    @Benchmark
+    public byte[] events() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] registrations() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(registrations);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.eventRegistrationApp.benchmarks;
+
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.repository.UserRepository;
+import com.example.eventRegistrationApp.service.CustomUserDetailsService;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+// loadUserByUsername against an in-memory repository, so only our own overhead is measured:
+// the cache lookup and defensive copy when cached, building the UserDetails when not.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserDetailsBenchmark {
+
+    private CustomUserDetailsService service;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder()
+                .id(new ObjectId())
+                .firstName("Ada")
+                .lastName("Lovelace")
+                .email("user@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z6A3h6ZLx0Vx1ZJqJ8Xq5K6y")
+                .build();
+        UserRepository repository = stubRepository(user);
+        service = new CustomUserDetailsService(repository, 10_000, Duration.ofMinutes(10));
+    }
+
+    @Benchmark
+    public UserDetails loadCached() {
+        return service.loadUserByUsername("user@example.com");
+    }
+
+    // Includes the (synchronous) eviction that forces the miss
+    @Benchmark
+    public UserDetails loadUncached() {
+        service.evict("user@example.com");
+        return service.loadUserByUsername("user@example.com");
+    }
+
+    // Only findByEmail is called by the service
+    private static UserRepository stubRepository(User user) {
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByEmail")) {
+                        return user.getEmail().equals(args[0]) ? Optional.of(user) : Optional.empty();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
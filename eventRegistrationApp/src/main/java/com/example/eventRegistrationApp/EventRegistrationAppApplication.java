@@ -1,15 +1,46 @@
 package com.example.eventRegistrationApp;
 
+import com.example.eventRegistrationApp.reactive.ReactiveEventRegistrationApplication;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoReactiveRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoReactiveAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// The reactive Mongo driver is only there for the reactive mode
+@SpringBootApplication(exclude = {
+		MongoReactiveAutoConfiguration.class,
+		MongoReactiveDataAutoConfiguration.class,
+		MongoReactiveRepositoriesAutoConfiguration.class
+})
+@EnableAsync
+@EnableScheduling
 public class EventRegistrationAppApplication {
 
 	public static void main(String[] args) {
-
+		if ("reactive".equalsIgnoreCase(mode(args))) {
+			new SpringApplicationBuilder(ReactiveEventRegistrationApplication.class)
+					.web(WebApplicationType.REACTIVE)
+					.run(args);
+			return;
+		}
 
 		SpringApplication.run(EventRegistrationAppApplication.class, args);
 	}
 
+	// --app.mode=..., -Dapp.mode=... or APP_MODE; servlet unless set to "reactive"
+	static String mode(String[] args) {
+		for (String arg : args) {
+			if (arg.startsWith("--app.mode=")) {
+				return arg.substring("--app.mode=".length());
+			}
+		}
+		String mode = System.getProperty("app.mode");
+		return mode != null ? mode : System.getenv("APP_MODE");
+	}
+
 }
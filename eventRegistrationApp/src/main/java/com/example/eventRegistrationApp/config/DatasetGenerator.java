@@ -0,0 +1,443 @@
+package com.example.eventRegistrationApp.config;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSeatStripe;
+import com.example.eventRegistrationApp.entity.RegistrationStatsBucket;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.WaitlistEntry;
+import com.example.eventRegistrationApp.service.RegistrationAnalyticsService;
+import com.example.eventRegistrationApp.utils.LocationNormalizer;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.client.model.InsertManyOptions;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fills Mongo with production-shaped data for scaling tests, then exits:
+//   java -jar app.jar --spring.profiles.active=datagen --app.datagen.users=1000000 \
+//        --app.datagen.events=20000 --app.datagen.registrations=20000000
+// Documents go through the entity mapping (MongoConverter), so they are exactly what the
+// repositories write: registrations carry userId/eventId and the embedded snapshots.
+// Event popularity follows a Zipf distribution; every event has at least as many seats as it has
+// non-rejected registrations, with a share of events sold out exactly. Every document is derived
+// from (seed, index) alone, so a seed always yields the same data whatever the thread count,
+// and re-running without app.datagen.drop skips everything already written.
+// Seat stripes are left to be built from the registrations on first use; indexes are created by
+// MongoIndexInitializer on the next normal start.
+@Slf4j
+@Component
+@Profile("datagen")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final int USER = 1;
+    private static final int EVENT = 2;
+    private static final int REGISTRATION = 3;
+    private static final int STATUS = 4;
+
+    private static final String[] FIRST_NAMES = {"Aarav", "Ada", "Alex", "Amara", "Ben", "Chen", "Diego", "Elena", "Fatima", "Grace",
+            "Hiro", "Isabel", "Jamal", "Julia", "Kofi", "Lena", "Liam", "Maya", "Noah", "Olivia", "Priya", "Ravi", "Sara", "Tomas", "Yuki", "Zara"};
+    private static final String[] LAST_NAMES = {"Anderson", "Banerjee", "Costa", "Dubois", "Evans", "Fischer", "Garcia", "Haddad", "Ito",
+            "Jensen", "Kowalski", "Lee", "Martin", "Nguyen", "Okafor", "Patel", "Rossi", "Silva", "Tanaka", "Walker", "Yilmaz", "Zhang"};
+    private static final String[] TOPICS = {"Java", "Cloud", "Data", "AI", "Design", "Security", "Mobile", "DevOps", "Startup", "Music",
+            "Photography", "Marketing", "Robotics", "Climate", "Finance", "Health"};
+    private static final String[] FORMATS = {"Meetup", "Conference", "Workshop", "Summit", "Hackathon", "Bootcamp", "Festival", "Talk"};
+    private static final String[] ADJECTIVES = {"Annual", "Advanced", "Intro to", "Global", "Local", "Spring", "Autumn", "Night of", "Open"};
+    private static final String[] LOCATIONS = {"Bengaluru", "Hyderabad", "Mumbai", "New York", "San Francisco", "London", "Berlin",
+            "Paris", "São Paulo", "Tokyo", "Singapore", "Toronto", "Sydney", "Online"};
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RegistrationAnalyticsService registrationAnalyticsService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Value("${app.datagen.users:100000}")
+    private int userCount;
+
+    @Value("${app.datagen.events:10000}")
+    private int eventCount;
+
+    @Value("${app.datagen.registrations:1000000}")
+    private long registrationCount;
+
+    // Higher is more skewed; around 1 gives a few very hot events and a long tail
+    @Value("${app.datagen.zipf-exponent:1.1}")
+    private double zipfExponent;
+
+    // Shares of APPROVED, PENDING and REJECTED
+    @Value("${app.datagen.status-mix:0.6,0.3,0.1}")
+    private double[] statusMix;
+
+    // Share of events with registrations whose capacity is exactly the seats taken
+    @Value("${app.datagen.sold-out-share:0.2}")
+    private double soldOutShare;
+
+    @Value("${app.datagen.seed:42}")
+    private long seed;
+
+    @Value("${app.datagen.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${app.datagen.threads:0}")
+    private int threads;
+
+    // Event dates are spread from six months before to a year after this day
+    @Value("${app.datagen.anchor-date:2026-01-01}")
+    private String anchor;
+
+    private LocalDate anchorDate;
+
+    // Every generated user has this password
+    @Value("${app.datagen.password:password}")
+    private String password;
+
+    // Drops users, events, registrations and everything derived from them first
+    @Value("${app.datagen.drop:false}")
+    private boolean drop;
+
+    @Value("${app.datagen.rebuild-analytics:true}")
+    private boolean rebuildAnalytics;
+
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        int exitCode = 0;
+        try {
+            generate();
+        } catch (Exception e) {
+            log.error("Dataset generation failed", e);
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private void generate() throws Exception {
+        if (statusMix.length != 3) {
+            throw new IllegalArgumentException("app.datagen.status-mix needs three shares: APPROVED, PENDING, REJECTED");
+        }
+        anchorDate = LocalDate.parse(anchor);
+        long started = System.nanoTime();
+        if (drop) {
+            for (Class<?> type : List.of(User.class, Event.class, Registrations.class, EventSeatStripe.class,
+                    WaitlistEntry.class, RegistrationStatsBucket.class)) {
+                mongoTemplate.dropCollection(type);
+            }
+        }
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize);
+        try {
+            // One hash for everyone; hashing a million passwords would dominate the run
+            String hash = passwordEncoder.encode(password);
+            generateUsers(pool, hash);
+
+            long[] perEvent = registrationsPerEvent();
+            Event[] events = generateEvents(pool, perEvent);
+            generateRegistrations(pool, events, perEvent);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        if (rebuildAnalytics) {
+            registrationAnalyticsService.rebuild();
+        }
+        log.info("Dataset generated in {}s: {} documents inserted, {} already present",
+                Duration.ofNanos(System.nanoTime() - started).toSeconds(), inserted.get(), skipped.get());
+    }
+
+    private void generateUsers(ExecutorService pool, String hash) throws Exception {
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < userCount; from += batchSize) {
+            int start = from;
+            int end = Math.min(from + batchSize, userCount);
+            batches.add(pool.submit(() -> {
+                List<Document> documents = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    User user = user(i);
+                    user.setPassword(hash);
+                    documents.add(toDocument(user));
+                }
+                insert(User.class, documents);
+            }));
+        }
+        await(batches);
+        log.info("Users: {}", userCount);
+    }
+
+    // Expected Zipf counts (rank r gets a share proportional to 1/r^s), handed to events in a
+    // seeded random order so the popular ones are not simply the first ids
+    private long[] registrationsPerEvent() {
+        double[] weights = new double[eventCount];
+        double total = 0;
+        for (int rank = 0; rank < eventCount; rank++) {
+            weights[rank] = 1.0 / Math.pow(rank + 1, zipfExponent);
+            total += weights[rank];
+        }
+
+        int[] order = new int[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            order[i] = i;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = eventCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+
+        // A user registers for an event at most once, so no event can have more than userCount
+        long[] perEvent = new long[eventCount];
+        long assigned = 0;
+        for (int rank = 0; rank < eventCount; rank++) {
+            long count = Math.min((long) Math.floor(registrationCount * weights[rank] / total), userCount);
+            perEvent[order[rank]] = count;
+            assigned += count;
+        }
+        for (int rank = 0; rank < eventCount && assigned < registrationCount; rank++) {
+            if (perEvent[order[rank]] < userCount) {
+                perEvent[order[rank]]++;
+                assigned++;
+            }
+        }
+        log.info("Registrations: {} over {} events, hottest has {}", assigned, eventCount,
+                eventCount > 0 ? perEvent[order[0]] : 0);
+        return perEvent;
+    }
+
+    private Event[] generateEvents(ExecutorService pool, long[] perEvent) throws Exception {
+        long[] firstRegistration = firstIndexes(perEvent);
+        Event[] events = new Event[eventCount];
+        List<Future<?>> batches = new ArrayList<>();
+        for (int from = 0; from < eventCount; from += batchSize) {
+            int start = from;
+            int end = Math.min(from + batchSize, eventCount);
+            batches.add(pool.submit(() -> {
+                List<Document> documents = new ArrayList<>(end - start);
+                for (int j = start; j < end; j++) {
+                    long seated = 0;
+                    for (long k = 0; k < perEvent[j]; k++) {
+                        if (status(firstRegistration[j] + k) != Registrations.Status.REJECTED) {
+                            seated++;
+                        }
+                    }
+                    events[j] = event(j, seated);
+                    documents.add(toDocument(events[j]));
+                }
+                insert(Event.class, documents);
+            }));
+        }
+        await(batches);
+        log.info("Events: {}", eventCount);
+        return events;
+    }
+
+    // Each event's registrations are cut into batches so the hot events are written in parallel too
+    private void generateRegistrations(ExecutorService pool, Event[] events, long[] perEvent) throws Exception {
+        long[] firstRegistration = firstIndexes(perEvent);
+        List<Future<?>> batches = new ArrayList<>();
+        for (int j = 0; j < eventCount; j++) {
+            int eventIndex = j;
+            Placement placement = placement(j);
+            for (long from = 0; from < perEvent[j]; from += batchSize) {
+                long start = from;
+                long end = Math.min(from + batchSize, perEvent[j]);
+                batches.add(pool.submit(() -> {
+                    Event event = events[eventIndex];
+                    List<Document> documents = new ArrayList<>((int) (end - start));
+                    for (long k = start; k < end; k++) {
+                        long index = firstRegistration[eventIndex] + k;
+                        Registrations registration = Registrations.of(user(placement.user(k)), event);
+                        registration.setId(objectId(REGISTRATION, index, registeredAt(event, index)));
+                        registration.setStatus(status(index));
+                        documents.add(toDocument(registration));
+                    }
+                    insert(Registrations.class, documents);
+                }));
+            }
+        }
+        await(batches);
+        log.info("Registrations written");
+    }
+
+    private User user(long index) {
+        SplittableRandom random = random(USER, index);
+        String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        long createdAt = anchorSeconds() - random.nextLong(Duration.ofDays(3 * 365).toSeconds());
+        return User.builder()
+                .id(objectId(USER, index, createdAt))
+                .firstName(firstName)
+                .lastName(lastName)
+                .email((firstName + "." + lastName + index + "@example.com").toLowerCase(Locale.ROOT))
+                .password("")
+                .build();
+    }
+
+    private Event event(int index, long seated) {
+        SplittableRandom random = random(EVENT, index);
+        LocalDateTime date = anchorDate.atTime(9, 0)
+                .plusDays(random.nextInt(-180, 366))
+                .plusMinutes(30L * random.nextInt(24))
+                .truncatedTo(ChronoUnit.MINUTES);
+        long createdAt = date.minusDays(7 + random.nextInt(120)).toEpochSecond(ZoneOffset.UTC);
+
+        int capacity;
+        if (seated == 0) {
+            capacity = 20 + random.nextInt(480);
+        } else if (random.nextDouble() < soldOutShare) {
+            capacity = (int) seated;
+        } else {
+            capacity = (int) Math.min(Integer.MAX_VALUE, seated + 1 + (long) Math.ceil(seated * random.nextDouble(0.05, 0.5)));
+        }
+
+        Event event = new Event();
+        event.setId(objectId(EVENT, index, createdAt));
+        event.setEventName(ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " "
+                + TOPICS[random.nextInt(TOPICS.length)] + " "
+                + FORMATS[random.nextInt(FORMATS.length)] + " " + (index + 1));
+        event.setLocation(LocationNormalizer.normalize(LOCATIONS[random.nextInt(LOCATIONS.length)]));
+        event.setDate(date);
+        event.setMaxParticipants(capacity);
+        return event;
+    }
+
+    // Between the event being created and it taking place (or the anchor date, if that is earlier)
+    private long registeredAt(Event event, long index) {
+        long opened = new ObjectId(event.getId()).getTimestamp();
+        long closes = Math.min(event.getDate().toEpochSecond(ZoneOffset.UTC), anchorSeconds());
+        return closes > opened ? opened + random(REGISTRATION, index).nextLong(closes - opened) : opened;
+    }
+
+    private Registrations.Status status(long registrationIndex) {
+        double draw = random(STATUS, registrationIndex).nextDouble() * (statusMix[0] + statusMix[1] + statusMix[2]);
+        if (draw < statusMix[0]) {
+            return Registrations.Status.APPROVED;
+        }
+        return draw < statusMix[0] + statusMix[1] ? Registrations.Status.PENDING : Registrations.Status.REJECTED;
+    }
+
+    // Walks the users with a stride coprime to userCount, so an event's attendees are distinct
+    private Placement placement(int eventIndex) {
+        SplittableRandom random = random(EVENT, eventIndex).split();
+        long start = random.nextLong(userCount);
+        long stride = 1;
+        if (userCount > 1) {
+            do {
+                stride = 1 + random.nextLong(userCount - 1);
+            } while (gcd(stride, userCount) != 1);
+        }
+        return new Placement(start, stride, userCount);
+    }
+
+    private static long[] firstIndexes(long[] perEvent) {
+        long[] first = new long[perEvent.length];
+        long next = 0;
+        for (int j = 0; j < perEvent.length; j++) {
+            first[j] = next;
+            next += perEvent[j];
+        }
+        return first;
+    }
+
+    private Document toDocument(Object entity) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(entity, document);
+        return document;
+    }
+
+    // Unordered, so one duplicate (from an earlier run) does not stop the rest of the batch
+    private void insert(Class<?> type, List<Document> documents) {
+        if (documents.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(type))
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+            inserted.addAndGet(documents.size());
+        } catch (MongoBulkWriteException e) {
+            int failed = e.getWriteErrors().size();
+            inserted.addAndGet(documents.size() - failed);
+            skipped.addAndGet(failed);
+        }
+    }
+
+    private static void await(List<Future<?>> tasks) throws Exception {
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+    }
+
+    // Independent stream per (kind, index): the same document whatever thread builds it
+    private SplittableRandom random(int kind, long index) {
+        long mixed = seed ^ ((long) kind << 56) ^ index;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xff51afd7ed558ccdL;
+        mixed = (mixed ^ (mixed >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return new SplittableRandom(mixed ^ (mixed >>> 33));
+    }
+
+    // Timestamp, then the document kind and its index: unique and reproducible
+    private static ObjectId objectId(int kind, long index, long epochSeconds) {
+        ByteBuffer bytes = ByteBuffer.allocate(12);
+        bytes.putInt((int) epochSeconds);
+        bytes.put((byte) kind);
+        bytes.put((byte) (index >>> 48));
+        bytes.putShort((short) (index >>> 32));
+        bytes.putInt((int) index);
+        return new ObjectId(bytes.array());
+    }
+
+    private long anchorSeconds() {
+        return anchorDate.atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private record Placement(long start, long stride, long users) {
+        long user(long k) {
+            return Math.floorMod(start + k % users * stride, users);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.eventRegistrationApp.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Served in Prometheus format at /actuator/prometheus on the management port. Request latency
+// (http_server_requests), Mongo command latency (mongodb_driver_commands) and cache, pool and queue
+// gauges come from Boot and the MeterBinder services; the beans here add @Timed service methods
+// and document counts.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoDocumentMetrics(MeterRegistry registry) {
+        return builder -> builder.addCommandListener(new MongoDocumentMetrics(registry));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.eventRegistrationApp.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Documents returned or written per Mongo command, by command and collection. Latency for the
+// same commands comes from the driver metrics Boot registers (mongodb_driver_commands_seconds).
+public class MongoDocumentMetrics implements CommandListener {
+
+    private static final Set<String> COUNTED = Set.of(
+            "find", "getMore", "aggregate", "insert", "update", "delete", "findAndModify", "count");
+
+    private final MeterRegistry registry;
+    // Collection of each command in flight, keyed by request id
+    private final Map<Integer, String> collections = new ConcurrentHashMap<>();
+
+    public MongoDocumentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        String command = event.getCommandName();
+        if (!COUNTED.contains(command)) {
+            return;
+        }
+        BsonValue target = event.getCommand().get("getMore".equals(command) ? "collection" : command);
+        collections.put(event.getRequestId(), target != null && target.isString() ? target.asString().getValue() : "unknown");
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        String collection = collections.remove(event.getRequestId());
+        if (collection == null) {
+            return;
+        }
+        long documents = documents(event.getCommandName(), event.getResponse());
+        DistributionSummary.builder("mongodb.driver.documents")
+                .description("Documents returned or written per command")
+                .tag("command", event.getCommandName())
+                .tag("collection", collection)
+                .register(registry)
+                .record(documents);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        collections.remove(event.getRequestId());
+    }
+
+    private static long documents(String command, BsonDocument response) {
+        switch (command) {
+            case "find", "aggregate", "getMore" -> {
+                BsonDocument cursor = response.getDocument("cursor", null);
+                if (cursor == null) {
+                    return 0;
+                }
+                String batch = "getMore".equals(command) ? "nextBatch" : "firstBatch";
+                return cursor.containsKey(batch) ? cursor.getArray(batch).size() : 0;
+            }
+            case "findAndModify" -> {
+                BsonValue value = response.get("value");
+                return value != null && !value.isNull() ? 1 : 0;
+            }
+            default -> {
+                BsonValue n = response.get("n");
+                return n != null && n.isNumber() ? n.asNumber().longValue() : 0;
+            }
+        }
+    }
+}
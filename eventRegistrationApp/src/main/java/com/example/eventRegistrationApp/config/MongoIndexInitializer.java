@@ -0,0 +1,129 @@
+package com.example.eventRegistrationApp.config;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.WaitlistEntry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Collation;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Creates the indexes the queries rely on. Runs off the startup thread so the
+// application still starts (and fails soft) when Mongo is not reachable yet.
+@Slf4j
+@Component
+public class MongoIndexInitializer {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RegistrationsMigration registrationsMigration;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    private volatile boolean uniqueRegistrations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        startupTasks.run("mongo-indexes", this::ensureIndexes);
+    }
+
+    // Each index on its own, so one that can't be built doesn't keep the others from being created
+    public void ensureIndexes() {
+        IndexOperations registrations = mongoTemplate.indexOps(Registrations.class);
+        ensure(registrations, new Index().on("eventId", Sort.Direction.ASC).on("status", Sort.Direction.ASC));
+        // Also serves keyset pages of one status ordered by _id
+        ensure(registrations, new Index().on("status", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+
+        IndexOperations events = mongoTemplate.indexOps(Event.class);
+        ensure(events, new Index().on("date", Sort.Direction.ASC).on("_id", Sort.Direction.ASC));
+        // Case-insensitive; only used by queries that ask for the same collation
+        ensure(events, new Index().on("location", Sort.Direction.ASC)
+                .collation(Collation.of("en").strength(Collation.ComparisonLevel.secondary())));
+
+        IndexOperations waitlist = mongoTemplate.indexOps(WaitlistEntry.class);
+        ensure(waitlist, new Index().on("eventId", Sort.Direction.ASC).on("userId", Sort.Direction.ASC).unique());
+        // Serving order: highest priority, then arrival
+        ensure(waitlist, new Index().on("eventId", Sort.Direction.ASC).on("priority", Sort.Direction.DESC).on("_id", Sort.Direction.ASC));
+
+        ensureUniqueEmails();
+        ensureUniqueRegistrations();
+    }
+
+    private void ensure(IndexOperations indexes, Index index) {
+        try {
+            indexes.ensureIndex(index);
+        } catch (Exception e) {
+            log.warn("Could not ensure Mongo index {}: {}", index.getIndexKeys().toJson(), e.getMessage());
+        }
+    }
+
+    // Declared with @Indexed(unique = true) on User, but index auto-creation is off. Accounts
+    // sharing an email keep it from being built; they are named so they can be merged by hand.
+    private void ensureUniqueEmails() {
+        try {
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("email", Sort.Direction.ASC).unique());
+        } catch (DuplicateKeyException e) {
+            List<Object> duplicates;
+            try {
+                duplicates = mongoTemplate.aggregate(Aggregation.newAggregation(
+                                Aggregation.group("email").count().as("count"),
+                                Aggregation.match(where("count").gt(1)),
+                                Aggregation.limit(20)),
+                        User.class, Document.class)
+                        .getMappedResults().stream().map(group -> group.get("_id")).toList();
+            } catch (Exception lookup) {
+                duplicates = List.of();
+            }
+            log.error("Unique users.email index is missing; emails used by more than one account (up to 20): {}", duplicates);
+        } catch (Exception e) {
+            log.warn("Could not ensure the unique users.email index: {}", e.getMessage());
+        }
+    }
+
+    // One registration per user and event; also serves lookups by userId. The index can't be built
+    // while legacy registrations (no userId yet) or duplicates exist, so the migration and the
+    // duplicate clean-up run first. Until it exists registrations are checked before insert.
+    public synchronized void ensureUniqueRegistrations() {
+        if (uniqueRegistrations) {
+            return;
+        }
+        try {
+            registrationsMigration.migrateIfEnabled();
+            registrationsMigration.removeDuplicates();
+            mongoTemplate.indexOps(Registrations.class).ensureIndex(
+                    new Index().on("userId", Sort.Direction.ASC).on("eventId", Sort.Direction.ASC).unique());
+            uniqueRegistrations = true;
+        } catch (Exception e) {
+            log.error("Unique registrations index is missing; duplicates are checked before insert until it exists: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${app.migrations.unique-index-retry:5m}", fixedDelayString = "${app.migrations.unique-index-retry:5m}")
+    public void retryUniqueRegistrations() {
+        if (!uniqueRegistrations) {
+            ensureUniqueRegistrations();
+        }
+    }
+
+    public boolean hasUniqueRegistrations() {
+        return uniqueRegistrations;
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.eventRegistrationApp.config;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSnapshot;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.UserSnapshot;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.repository.UserRepository;
+import com.example.eventRegistrationApp.service.RegistrationAnalyticsService;
+import com.example.eventRegistrationApp.service.SeatReservationService;
+import com.mongodb.DBRef;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Rewrites registrations stored with @DBRef user/event links into the current format:
+// userId/eventId plus embedded snapshots. Safe to run repeatedly; migrated documents no
+// longer match the filter. Run at startup by MongoIndexInitializer.
+@Slf4j
+@Component
+public class RegistrationsMigration {
+
+    // Legacy documents still carry the DBRef fields and have no userId yet
+    private static final Bson LEGACY = Filters.and(Filters.exists("user"), Filters.exists("userId", false));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private RegistrationAnalyticsService registrationAnalyticsService;
+
+    @Value("${app.migrations.registrations-dbref.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.migrations.registrations-dbref.batch-size:1000}")
+    private int batchSize;
+
+    // Run by MongoIndexInitializer ahead of the unique registrations index
+    public void migrateIfEnabled() {
+        if (!enabled) {
+            return;
+        }
+        long migrated = migrate();
+        if (migrated > 0) {
+            log.info("Migrated {} registrations from DBRef links to embedded snapshots", migrated);
+        }
+    }
+
+    public long migrate() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Registrations.class));
+        long migrated = 0;
+
+        while (true) {
+            List<Document> batch = collection.find(LEGACY)
+                    .projection(Projections.include("user", "event"))
+                    .limit(batchSize)
+                    .into(new ArrayList<>());
+            if (batch.isEmpty()) {
+                return migrated;
+            }
+
+            Set<ObjectId> userIds = new LinkedHashSet<>();
+            Set<ObjectId> eventIds = new LinkedHashSet<>();
+            for (Document document : batch) {
+                addRefId(document.get("user"), userIds);
+                addRefId(document.get("event"), eventIds);
+            }
+
+            // One $in query per collection for the whole batch
+            Map<ObjectId, User> users = new HashMap<>();
+            userRepository.findAllById(userIds).forEach(user -> users.put(new ObjectId(user.getId()), user));
+            Map<ObjectId, Event> events = new HashMap<>();
+            eventRepository.findAllById(eventIds).forEach(event -> events.put(new ObjectId(event.getId()), event));
+
+            List<WriteModel<Document>> updates = new ArrayList<>(batch.size());
+            for (Document document : batch) {
+                ObjectId userId = refId(document.get("user"));
+                ObjectId eventId = refId(document.get("event"));
+                User user = userId != null ? users.get(userId) : null;
+                Event event = eventId != null ? events.get(eventId) : null;
+
+                updates.add(new UpdateOneModel<>(
+                        Filters.eq("_id", document.get("_id")),
+                        Updates.combine(
+                                Updates.set("userId", userId),
+                                Updates.set("eventId", eventId),
+                                Updates.set("userSnapshot", user != null ? toDocument(UserSnapshot.from(user)) : null),
+                                Updates.set("eventSnapshot", event != null ? toDocument(EventSnapshot.from(event)) : null),
+                                Updates.unset("user"),
+                                Updates.unset("event")
+                        )
+                ));
+            }
+            migrated += collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+        }
+    }
+
+    // Keeps one registration per user and event (approved over pending over rejected, then the
+    // oldest) so the unique index can be built on data written before it existed
+    public long removeDuplicates() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Registrations.class));
+        List<Document> groups = collection.aggregate(List.of(
+                Aggregates.match(Filters.exists("userId")),
+                Aggregates.group(new Document("userId", "$userId").append("eventId", "$eventId"),
+                        Accumulators.push("ids", "$_id"),
+                        Accumulators.sum("count", 1)),
+                Aggregates.match(Filters.gt("count", 1))
+        )).allowDiskUse(true).into(new ArrayList<>());
+
+        long removed = 0;
+        for (Document group : groups) {
+            List<Registrations> copies = mongoTemplate.find(
+                    new Query(where("_id").in(group.getList("ids", ObjectId.class))), Registrations.class);
+            copies.sort(Comparator.comparingInt((Registrations registration) -> keepOrder(registration.getStatus()))
+                    .thenComparing(Registrations::getId));
+            for (Registrations duplicate : copies.subList(1, copies.size())) {
+                Registrations deleted = mongoTemplate.findAndRemove(
+                        new Query(where("_id").is(new ObjectId(duplicate.getId()))), Registrations.class);
+                if (deleted == null) {
+                    continue;
+                }
+                removed++;
+                registrationAnalyticsService.recordCancelled(deleted);
+                // Rejected registrations hold no seat
+                if (deleted.getStatus() != Registrations.Status.REJECTED && deleted.getEventId() != null) {
+                    seatReservationService.release(deleted.getEventId(), 1);
+                }
+            }
+        }
+        if (removed > 0) {
+            log.warn("Removed {} duplicate registrations", removed);
+        }
+        return removed;
+    }
+
+    private static int keepOrder(Registrations.Status status) {
+        if (status == Registrations.Status.APPROVED) {
+            return 0;
+        }
+        return status == Registrations.Status.PENDING ? 1 : 2;
+    }
+
+    private Object toDocument(Object snapshot) {
+        return mongoTemplate.getConverter().convertToMongoType(snapshot);
+    }
+
+    private static void addRefId(Object reference, Set<ObjectId> ids) {
+        ObjectId id = refId(reference);
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    private static ObjectId refId(Object reference) {
+        if (reference instanceof DBRef dbRef && dbRef.getId() instanceof ObjectId id) {
+            return id;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.eventRegistrationApp.config;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Runs the Mongo work started when the application is ready (indexes, in-memory search and
+// facet indexes) on daemon threads of its own. On the shared async executor the context waited
+// for them on close, and with Mongo unreachable they sit in server selection for the driver's
+// 30 second timeout. Here they are interrupted on close and never hold up the JVM exit.
+@Component
+public class StartupTasks {
+
+    private final Set<Thread> running = ConcurrentHashMap.newKeySet();
+
+    public void run(String name, Runnable task) {
+        Thread thread = new Thread(() -> {
+            try {
+                task.run();
+            } finally {
+                running.remove(Thread.currentThread());
+            }
+        }, "startup-" + name);
+        thread.setDaemon(true);
+        running.add(thread);
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running.forEach(Thread::interrupt);
+    }
+}
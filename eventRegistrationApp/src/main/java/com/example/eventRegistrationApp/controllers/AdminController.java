@@ -1,20 +1,37 @@
 package com.example.eventRegistrationApp.controllers;
 
 
+import com.example.eventRegistrationApp.entity.AdminOverview;
+import com.example.eventRegistrationApp.entity.BulkStatusRequest;
+import com.example.eventRegistrationApp.entity.CursorPage;
 import com.example.eventRegistrationApp.entity.Event;
 import com.example.eventRegistrationApp.entity.Registrations;
 import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.service.AdminOverviewService;
+import com.example.eventRegistrationApp.service.EntityCache;
 import com.example.eventRegistrationApp.service.EventService;
+import com.example.eventRegistrationApp.service.RegistrationAnalyticsService;
+import com.example.eventRegistrationApp.service.RegistrationExportService;
 import com.example.eventRegistrationApp.service.RegistrationsService;
+import com.example.eventRegistrationApp.service.UserImportService;
 import com.example.eventRegistrationApp.service.UserService;
+import com.example.eventRegistrationApp.service.WaitlistService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/admin")
@@ -30,8 +47,42 @@ public class AdminController {
     @Autowired
     private RegistrationsService registrationService;
 
+    @Autowired
+    private RegistrationExportService registrationExportService;
+
+    @Autowired
+    private RegistrationAnalyticsService registrationAnalyticsService;
+
+    @Autowired
+    private AdminOverviewService adminOverviewService;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @GetMapping("/overview")
+    public ResponseEntity<AdminOverview> getOverview() {
+        return ResponseEntity.ok(adminOverviewService.getOverview());
+    }
+
+    // Hit/miss counts of the event and user caches
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Map<String, Object>>> getCacheStats() {
+        return ResponseEntity.ok(entityCache.stats());
+    }
+
+    // List endpoints return everything unless a cursor or size is given, then one keyset page
     @GetMapping("/users")
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<?> getAllUsers(@RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            return page(() -> userService.getUsersPage(cursor, size));
+        }
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
@@ -45,6 +96,19 @@ public class AdminController {
         }
     }
 
+    // Streams a CSV (with header row) or NDJSON body of users; per-row failures are reported, not fatal
+    @PostMapping("/users/import")
+    public ResponseEntity<?> importUsers(@RequestParam(defaultValue = "csv") String format,
+                                         HttpServletRequest request) throws IOException {
+        UserImportService.Format importFormat;
+        try {
+            importFormat = UserImportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Unknown format");
+        }
+        return ResponseEntity.ok(userImportService.importUsers(importFormat, request.getInputStream()));
+    }
+
     @PutMapping("/updateuser/{id}")
     public ResponseEntity<?> updateUser(@PathVariable String id, @RequestBody User updatedUser) {
         User existingUser = userService.getUserById(id);
@@ -71,7 +135,11 @@ public class AdminController {
 
 
     @GetMapping("/events")
-    public ResponseEntity<List<Event>> getAllEvents() {
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            return page(() -> eventService.getEventsPage(cursor, size));
+        }
         return ResponseEntity.ok(eventService.getAllEvents());
     }
 
@@ -99,13 +167,127 @@ public class AdminController {
     }
 
     @GetMapping("/registrations")
-    public ResponseEntity<List<Registrations>> getAllRegistrations() {
+    public ResponseEntity<?> getAllRegistrations(@RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            return page(() -> registrationService.getRegistrationsPage(null, cursor, size));
+        }
         return ResponseEntity.ok(registrationService.getAllRegistrations());
     }
 
     @GetMapping("/registrations/pending")
-    public ResponseEntity<List<Registrations>> getPendingRegistrations() {
+    public ResponseEntity<?> getPendingRegistrations(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        if (cursor != null || size != null) {
+            return page(() -> registrationService.getRegistrationsPage(Registrations.Status.PENDING, cursor, size));
+        }
         return ResponseEntity.ok(registrationService.getPendingRegistrations());
     }
 
+    // Approves or rejects many registrations at once: explicit ids, or all of one event in a given status
+    @PostMapping("/registrations/status")
+    public ResponseEntity<?> updateRegistrationStatuses(@RequestBody BulkStatusRequest request) {
+        try {
+            return ResponseEntity.ok(registrationService.updateRegistrationStatuses(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    // Waiters in the order they will be promoted
+    @GetMapping("/events/{eventId}/waitlist")
+    public ResponseEntity<?> getWaitlist(@PathVariable String eventId) {
+        if (!ObjectId.isValid(eventId)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid event ID");
+        }
+        return ResponseEntity.ok(waitlistService.entries(eventId));
+    }
+
+    // Higher priorities are promoted first; equal priorities keep arrival order
+    @PutMapping("/waitlist/{entryId}/priority")
+    public ResponseEntity<?> setWaitlistPriority(@PathVariable String entryId, @RequestParam int priority) {
+        if (!ObjectId.isValid(entryId) || !waitlistService.setPriority(entryId, priority)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Waitlist entry not found");
+        }
+        return ResponseEntity.noContent().build();
+    }
+
+    // Streams every registration (optionally of one status) as NDJSON or CSV
+    @GetMapping("/registrations/export")
+    public WebAsyncTask<Void> exportRegistrations(@RequestParam(defaultValue = "ndjson") String format,
+                                                  @RequestParam(required = false) String status,
+                                                  HttpServletResponse response) throws IOException {
+        return export(format, null, status, "registrations", response);
+    }
+
+    @GetMapping("/events/{eventId}/attendees/export")
+    public WebAsyncTask<Void> exportAttendees(@PathVariable String eventId,
+                                              @RequestParam(defaultValue = "ndjson") String format,
+                                              @RequestParam(required = false) String status,
+                                              HttpServletResponse response) throws IOException {
+        if (!ObjectId.isValid(eventId)) {
+            return reply(response, HttpStatus.BAD_REQUEST, "Invalid event ID");
+        }
+        return export(format, eventId, status, "attendees-" + eventId, response);
+    }
+
+    private WebAsyncTask<Void> export(String format, String eventId, String status, String fileName,
+                                      HttpServletResponse response) throws IOException {
+        RegistrationExportService.Format exportFormat;
+        Registrations.Status statusFilter;
+        try {
+            exportFormat = RegistrationExportService.Format.valueOf(format.toUpperCase());
+            statusFilter = status != null ? Registrations.Status.valueOf(status.toUpperCase()) : null;
+        } catch (IllegalArgumentException e) {
+            return reply(response, HttpStatus.BAD_REQUEST, "Unknown format or status");
+        }
+
+        // Written straight to the response from the export pool, so the servlet thread is
+        // released while the export runs
+        boolean csv = exportFormat == RegistrationExportService.Format.CSV;
+        Optional<WebAsyncTask<Void>> task = registrationExportService.submit(() -> {
+            response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + (csv ? ".csv" : ".ndjson") + "\"");
+            registrationExportService.export(exportFormat, eventId, statusFilter, response.getOutputStream());
+            return null;
+        });
+        if (task.isEmpty()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "30");
+            return reply(response, HttpStatus.SERVICE_UNAVAILABLE, "Too many exports running; try again shortly");
+        }
+        return task.get();
+    }
+
+    // Answers straight away on the request thread; returning no task tells MVC the response is done
+    private static WebAsyncTask<Void> reply(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+        return null;
+    }
+
+    // Chart data read from the pre-aggregated hourly/daily buckets
+    @GetMapping("/analytics/registrations")
+    public ResponseEntity<?> getRegistrationTrend(@RequestParam(defaultValue = "weekly") String timeframe,
+                                                  @RequestParam(required = false) String eventId) {
+        try {
+            return ResponseEntity.ok(registrationAnalyticsService.trend(timeframe, eventId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/analytics/registrations/rebuild")
+    public ResponseEntity<?> rebuildRegistrationStats() {
+        return ResponseEntity.ok(Map.of("buckets", registrationAnalyticsService.rebuild()));
+    }
+
+    private ResponseEntity<?> page(Supplier<CursorPage<?>> loader) {
+        try {
+            return ResponseEntity.ok(loader.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor");
+        }
+    }
+
 }
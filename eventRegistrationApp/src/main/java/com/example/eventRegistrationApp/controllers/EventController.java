@@ -1,13 +1,18 @@
 package com.example.eventRegistrationApp.controllers;
 
 import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.LocationFacet;
 import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.service.EventCatalogSnapshot;
 import com.example.eventRegistrationApp.service.EventService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -20,9 +25,50 @@ public class EventController  {
     @Autowired
     private EventRepository eventRepository;
 
+    // Without cursor/size the whole list is returned as before (from the catalog snapshot);
+    // with either, one page by date
     @GetMapping("/events")
-    public ResponseEntity<List<Event>> getAllEvents(){
-        return new ResponseEntity<>(eventService.getAllEvents(), HttpStatus.OK);
+    public ResponseEntity<?> getAllEvents(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer size,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding){
+        if (cursor != null || size != null) {
+            try {
+                return ResponseEntity.ok(eventService.getEventsPage(cursor, size));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor");
+            }
+        }
+
+        EventCatalogSnapshot.Catalog catalog = eventService.getEventCatalog();
+        boolean notModified = catalog.matches(ifNoneMatch);
+        boolean gzipped = acceptsGzip(acceptEncoding);
+        // Clients may keep the list but must revalidate it; a match costs no database work
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(catalog.getEtag(gzipped))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (notModified) {
+            return response.build();
+        }
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzipped) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(catalog.getGzip());
+        }
+        return response.body(catalog.getJson());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
     @GetMapping("/events/filter/location")
@@ -32,6 +78,12 @@ public class EventController  {
         return ResponseEntity.ok(eventService.getEventsByLocation(location));
     }
 
+    // Locations with their event counts, for the filter sidebar
+    @GetMapping("/events/filter/locations")
+    public ResponseEntity<List<LocationFacet>> getLocationFacets() {
+        return ResponseEntity.ok(eventService.getLocationFacets());
+    }
+
     @GetMapping("/events/search")
     public ResponseEntity<List<Event>> searchEvents(
             @RequestParam String query
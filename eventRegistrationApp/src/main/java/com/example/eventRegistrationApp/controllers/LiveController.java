@@ -0,0 +1,37 @@
+package com.example.eventRegistrationApp.controllers;
+
+import com.example.eventRegistrationApp.service.LiveUpdateHub;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-Sent Event streams; see LiveUpdateHub. Browsers pass the JWT as ?access_token=
+@RestController
+@RequestMapping("/live")
+public class LiveController {
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    // "seats" events with the event's remaining seats
+    @GetMapping(value = "/events/{eventId}/seats", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamSeats(@PathVariable String eventId) {
+        try {
+            return ResponseEntity.ok(liveUpdateHub.subscribeSeats(eventId));
+        } catch (Exception e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    // "registration" events whenever one of the caller's registrations is created, changes status or is cancelled
+    @GetMapping(value = "/my-registrations", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamMyRegistrations() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return ResponseEntity.ok(liveUpdateHub.subscribeRegistrations(email));
+    }
+}
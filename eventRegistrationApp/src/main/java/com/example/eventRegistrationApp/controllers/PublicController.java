@@ -3,21 +3,22 @@ package com.example.eventRegistrationApp.controllers;
 
 import com.example.eventRegistrationApp.entity.AuthResponse;
 import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.exception.HashingOverloadedException;
 import com.example.eventRegistrationApp.repository.UserRepository;
 import com.example.eventRegistrationApp.service.CustomUserDetailsService;
+import com.example.eventRegistrationApp.service.PasswordHashingService;
 import com.example.eventRegistrationApp.service.UserService;
 import com.example.eventRegistrationApp.utils.JwtUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
 @RestController
 @RequestMapping("/public")
 public class PublicController {
@@ -28,17 +29,11 @@ public class PublicController {
     @Autowired
     UserService userService;
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
-    @Autowired
-    private CustomUserDetailsService customUserDetailsService;
-
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @GetMapping("/check")
     public ResponseEntity<?> check(){
@@ -47,41 +42,65 @@ public class PublicController {
 
     @PostMapping("/create-user")
     public ResponseEntity<?> createUser(@RequestBody User user){
-        User saved = userService.saveUser(user);
+        try {
+            userService.saveUser(user);
+        } catch (HashingOverloadedException e) {
+            return overloaded(e);
+        }
 
         return new ResponseEntity<>(user, HttpStatus.CREATED);
     }
 
+    // One user read and one BCrypt check on the hashing pool; the request thread is released while
+    // the check runs. The user is read from Mongo, never the cache, so a changed password or a
+    // deleted account stops working at once on every node.
     @PostMapping("/login")
-    public ResponseEntity<?> loginUser(@RequestBody User user) {
-        try {
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(user.getEmail(), user.getPassword())
-            );
-
-            UserDetails userDetails = customUserDetailsService.loadUserByUsername(user.getEmail());
-
-            String role = userDetails.getAuthorities().stream()
-                    .map(GrantedAuthority::getAuthority)
-                    .findFirst()
-                    .orElse("ROLE_USER");
-
-            String jwt = jwtUtil.generateToken(userDetails.getUsername(), role);
-
-            AuthResponse authResponse = new AuthResponse(jwt, role);
-            return new ResponseEntity<>(authResponse, HttpStatus.OK);
-        } catch (BadCredentialsException e) {
-            return new ResponseEntity<>("Incorrect Username or Password", HttpStatus.BAD_REQUEST);
-        } catch (Exception e) {
-            return new ResponseEntity<>("An error occurred. Please try again.", HttpStatus.INTERNAL_SERVER_ERROR);
+    public CompletableFuture<ResponseEntity<?>> loginUser(@RequestBody User user) {
+        if (user.getEmail() == null || user.getPassword() == null) {
+            return CompletableFuture.completedFuture(new ResponseEntity<>("Incorrect Username or Password", HttpStatus.BAD_REQUEST));
         }
+        Optional<User> stored = userRepository.findByEmail(user.getEmail());
+        String hash = stored.map(User::getPassword).orElse(null);
+
+        return passwordHashingService.matches(user.getPassword(), hash)
+                .<ResponseEntity<?>>thenApply(matched -> {
+                    if (!matched || stored.isEmpty()) {
+                        return new ResponseEntity<>("Incorrect Username or Password", HttpStatus.BAD_REQUEST);
+                    }
+                    User account = stored.get();
+                    if (passwordHashingService.needsUpgrade(hash)) {
+                        userService.upgradePasswordHash(account, user.getPassword());
+                    }
+
+                    String role = CustomUserDetailsService.toAuthority(String.valueOf(account.getRole()));
+                    String jwt = jwtUtil.generateToken(account.getEmail(), role);
+
+                    AuthResponse authResponse = new AuthResponse(jwt, role);
+                    return new ResponseEntity<>(authResponse, HttpStatus.OK);
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof HashingOverloadedException overloaded) {
+                        return overloaded(overloaded);
+                    }
+                    return new ResponseEntity<>("An error occurred. Please try again.", HttpStatus.INTERNAL_SERVER_ERROR);
+                });
     }
 
+    private static ResponseEntity<?> overloaded(HashingOverloadedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
 
     @PostMapping("/register-admin")
     public ResponseEntity<?> registerAdmin(@RequestBody User user) {
         user.setRole(User.Role.ADMIN); // Force role to ADMIN
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        try {
+            user.setPassword(passwordHashingService.encodeNow(user.getPassword()));
+        } catch (HashingOverloadedException e) {
+            return overloaded(e);
+        }
         User admin = userService.saveUserDetails(user);
         return new ResponseEntity<>(admin,HttpStatus.CREATED);
     }
@@ -1,16 +1,27 @@
 package com.example.eventRegistrationApp.controllers;
 
 
+import com.example.eventRegistrationApp.entity.RegistrationTicket;
 import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.WaitlistPosition;
+import com.example.eventRegistrationApp.exception.DuplicateRegistrationException;
+import com.example.eventRegistrationApp.exception.EventFullException;
+import com.example.eventRegistrationApp.exception.RegistrationQueueFullException;
+import com.example.eventRegistrationApp.exception.WaitlistException;
+import com.example.eventRegistrationApp.service.RegistrationWriteBehind;
 import com.example.eventRegistrationApp.service.RegistrationsService;
+import com.example.eventRegistrationApp.service.WaitlistService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/register")
@@ -18,14 +29,83 @@ public class RegistrationController {
     @Autowired
     private RegistrationsService registrationService;
 
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private RegistrationWriteBehind writeBehind;
+
+    // A retry with the same Idempotency-Key returns the registration the first attempt created
     @PostMapping("/{eventId}")
-    public ResponseEntity<?> registerForEvent(@PathVariable String eventId) {
+    public ResponseEntity<?> registerForEvent(@PathVariable String eventId,
+                                              @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String email = auth.getName();
 
         try {
-            Registrations registration = registrationService.createRegistration(email, eventId);
+            if (writeBehind.isEnabled()) {
+                // Accepted now, written with the next batch; poll the ticket for the outcome
+                RegistrationTicket ticket = writeBehind.submit(email, eventId, idempotencyKey).ticket();
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .location(URI.create("/register/pending/" + ticket.getId()))
+                        .body(ticket);
+            }
+            Registrations registration = registrationService.createRegistration(email, eventId, idempotencyKey);
             return new ResponseEntity<>(registration, HttpStatus.CREATED);
+        } catch (EventFullException | DuplicateRegistrationException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (RegistrationQueueFullException e) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(e.getMessage());
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Outcome of a registration accepted by the write-behind queue
+    @GetMapping("/pending/{ticketId}")
+    public ResponseEntity<?> getPendingRegistration(@PathVariable String ticketId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        Optional<RegistrationTicket> ticket = writeBehind.ticket(ticketId, email);
+        return ticket.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> new ResponseEntity<>("Unknown or expired ticket.", HttpStatus.NOT_FOUND));
+    }
+
+    // Queue for a seat at a full event; promoted to a registration when a seat frees up
+    @PostMapping("/{eventId}/waitlist")
+    public ResponseEntity<?> joinWaitlist(@PathVariable String eventId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            Optional<WaitlistPosition> position = waitlistService.join(email, eventId);
+            return position.<ResponseEntity<?>>map(joined -> new ResponseEntity<>(joined, HttpStatus.CREATED))
+                    .orElseGet(() -> new ResponseEntity<>("A seat became free; you are now registered.", HttpStatus.OK));
+        } catch (WaitlistException e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.CONFLICT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/{eventId}/waitlist")
+    public ResponseEntity<?> getWaitlistPosition(@PathVariable String eventId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            Optional<WaitlistPosition> position = waitlistService.position(email, eventId);
+            return position.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> new ResponseEntity<>("Not on the waitlist.", HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @DeleteMapping("/{eventId}/waitlist")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable String eventId) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        try {
+            return waitlistService.leave(email, eventId)
+                    ? new ResponseEntity<>("Left the waitlist.", HttpStatus.OK)
+                    : new ResponseEntity<>("Not on the waitlist.", HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -3,13 +3,13 @@ package com.example.eventRegistrationApp.controllers;
 
 import com.example.eventRegistrationApp.entity.User;
 import com.example.eventRegistrationApp.repository.UserRepository;
+import com.example.eventRegistrationApp.service.PasswordHashingService;
 import com.example.eventRegistrationApp.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -25,7 +25,7 @@ public class UserController {
     UserService userService;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
 
     @GetMapping
     public ResponseEntity<?> getUser(){
@@ -53,7 +53,7 @@ public class UserController {
         }
         // Handle password update ONLY if provided
         if (updatedUser.getPassword() != null && !updatedUser.getPassword().isEmpty()) {
-            String hashedPassword = passwordEncoder.encode(updatedUser.getPassword());
+            String hashedPassword = passwordHashingService.encodeNow(updatedUser.getPassword());
             userInDB.setPassword(hashedPassword);
         }
 
@@ -68,7 +68,7 @@ public class UserController {
         String email = auth.getName();
 
         try{
-            userRepository.deleteUserByEmail(email); // No boolean check needed
+            userService.deleteUserByEmail(email); // No boolean check needed
             SecurityContextHolder.clearContext();
             return new ResponseEntity<>(email+" Has been deleted successfully",HttpStatus.OK);
 
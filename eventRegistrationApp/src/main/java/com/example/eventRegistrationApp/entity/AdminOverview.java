@@ -0,0 +1,27 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+// Everything the admin dashboard landing page shows, in one small response
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AdminOverview {
+    private long totalUsers;
+    private long totalEvents;
+    private long totalRegistrations;
+    private long pendingRegistrations;
+    private Map<String, Long> registrationsByStatus;
+    private Map<String, Long> usersByRole;
+    private List<UserSnapshot> recentUsers;
+    private List<Event> recentEvents;
+    private List<Registrations> recentRegistrations;
+    private List<RecentActivity> recentActivity;
+    private Instant generatedAt;
+}
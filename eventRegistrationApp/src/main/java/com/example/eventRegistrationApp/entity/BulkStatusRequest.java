@@ -0,0 +1,17 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Either explicit registration ids, or every registration of one event in fromStatus
+@Data
+@NoArgsConstructor
+public class BulkStatusRequest {
+    private List<String> ids;
+    private String eventId;
+    // Only used with eventId; defaults to PENDING
+    private Registrations.Status fromStatus;
+    private Registrations.Status status;
+}
@@ -0,0 +1,44 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+public class BulkStatusResult {
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        // Taking a rejected registration back needed a seat and the event is full
+        FULL,
+        // Changed by someone else between the read and the write
+        CONFLICT
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String id;
+        private Outcome outcome;
+    }
+
+    private Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+    private List<Item> items = new ArrayList<>();
+
+    // More registrations matched the event filter than one request handles; send it again for the rest
+    private boolean truncated;
+
+    public void add(String id, Outcome outcome) {
+        items.add(new Item(id, outcome));
+        counts.merge(outcome, 1, Integer::sum);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// One slice of an event's free seats; an event's capacity is spread over several of these
+@Document(collection = "event_seats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSeatStripe {
+
+    @Id
+    private String id;
+
+    private ObjectId eventId;
+
+    private int stripe;
+
+    private int remaining;
+
+    public static String idFor(String eventId, int stripe) {
+        return eventId + ":" + stripe;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// The part of an Event that is embedded in each registration
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSnapshot {
+
+    private String id;
+
+    private String eventName;
+
+    private String location;
+
+    private LocalDateTime date;
+
+    private Integer maxParticipants;
+
+    public static EventSnapshot from(Event event) {
+        return new EventSnapshot(event.getId(), event.getEventName(), event.getLocation(), event.getDate(), event.getMaxParticipants());
+    }
+}
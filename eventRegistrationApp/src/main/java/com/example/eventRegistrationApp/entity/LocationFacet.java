@@ -0,0 +1,14 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A location and how many events take place there
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LocationFacet {
+    private String location;
+    private long count;
+}
@@ -0,0 +1,20 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// One line of the dashboard's recent activity feed; type matches RecentActivityList.jsx
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecentActivity {
+    private String id;
+    private String type;
+    private String user;
+    private String event;
+    private String title;
+    private Instant timestamp;
+}
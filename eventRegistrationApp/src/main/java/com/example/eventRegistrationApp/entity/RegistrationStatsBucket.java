@@ -0,0 +1,51 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+// Registration counts for one hour or day, for one event or for all events together.
+// Registrations are counted in the bucket of their creation time.
+@Document(collection = "registration_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationStatsBucket {
+
+    public static final String ALL_EVENTS = "all";
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+
+    @Id
+    private String id;
+
+    private Granularity granularity;
+
+    private Instant bucketStart;
+
+    // Event id, or ALL_EVENTS for the rollup across events
+    private String eventId;
+
+    private long created;
+
+    private long cancelled;
+
+    // Current status of the registrations created in this bucket
+    private Map<String, Long> statuses = new HashMap<>();
+
+    // Rebuild that last set the counts; see RegistrationAnalyticsService.rebuild()
+    private String rebuildRun;
+
+    public long statusCount(Registrations.Status status) {
+        return statuses != null ? statuses.getOrDefault(status.name(), 0L) : 0L;
+    }
+}
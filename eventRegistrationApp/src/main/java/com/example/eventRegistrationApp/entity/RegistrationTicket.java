@@ -0,0 +1,35 @@
+package com.example.eventRegistrationApp.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Progress of a registration accepted by the write-behind queue. The id is the id the
+// registration document is inserted with.
+@Data
+@NoArgsConstructor
+public class RegistrationTicket {
+
+    public enum State {
+        PENDING,
+        CONFIRMED,
+        FAILED
+    }
+
+    private String id;
+    private String eventId;
+    private State state = State.PENDING;
+    // Why the registration was refused when FAILED
+    private String reason;
+    // Set when CONFIRMED
+    private Registrations registration;
+
+    @JsonIgnore
+    private String email;
+
+    public RegistrationTicket(String id, String eventId, String email) {
+        this.id = id;
+        this.eventId = eventId;
+        this.email = email;
+    }
+}
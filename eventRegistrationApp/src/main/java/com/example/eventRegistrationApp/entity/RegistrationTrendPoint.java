@@ -0,0 +1,18 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One bar of the admin registrations chart
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationTrendPoint {
+    private String name;
+    private long registrations;
+    private long pending;
+    private long approved;
+    private long rejected;
+    private long cancelled;
+}
@@ -0,0 +1,16 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RegistrationUpdate {
+    private String registrationId;
+    private String eventId;
+    private Registrations.Status status;
+    // The registration no longer exists; status is the one it had
+    private boolean cancelled;
+}
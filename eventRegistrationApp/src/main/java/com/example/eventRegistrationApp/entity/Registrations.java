@@ -1,17 +1,15 @@
 package com.example.eventRegistrationApp.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.bson.types.ObjectId;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
-
-import java.util.ArrayList;
-import java.util.List;
+import org.springframework.data.mongodb.core.mapping.Field;
 
 @Document(collection = "registrations")
 @Data
@@ -27,11 +25,24 @@ public class Registrations {
         return id != null ? id.toHexString() : null;
     }
 
-    @DBRef
-    private User user;
+    private ObjectId userId;
+
+    private ObjectId eventId;
+
+    public String getUserId() {
+        return userId != null ? userId.toHexString() : null;
+    }
+
+    public String getEventId() {
+        return eventId != null ? eventId.toHexString() : null;
+    }
+
+    // Copies of the few user and event fields listings need, so reads don't fan out per document
+    @Field("userSnapshot")
+    private UserSnapshot user;
 
-    @DBRef
-    private Event event;
+    @Field("eventSnapshot")
+    private EventSnapshot event;
 
     public enum Status {
         APPROVED,
@@ -42,4 +53,17 @@ public class Registrations {
     @Builder.Default
     private Status status = Status.PENDING;
 
+    // Client-supplied Idempotency-Key of the request that created this registration
+    @JsonIgnore
+    private String idempotencyKey;
+
+    public static Registrations of(User user, Event event) {
+        return Registrations.builder()
+                .userId(new ObjectId(user.getId()))
+                .eventId(new ObjectId(event.getId()))
+                .user(UserSnapshot.from(user))
+                .event(EventSnapshot.from(event))
+                .build();
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAvailability {
+    private String eventId;
+    // null for events without a limit
+    private Integer maxParticipants;
+    private Integer remaining;
+}
@@ -0,0 +1,32 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+public class UserImportResult {
+
+    // A row that was not imported; line numbers are 1-based and count the CSV header
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String email;
+        private String reason;
+    }
+
+    private long imported;
+    private long failed;
+    private List<RowError> errors = new ArrayList<>();
+
+    public void fail(long line, String email, String reason) {
+        failed++;
+        errors.add(new RowError(line, email, reason));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The part of a User that is embedded in each registration
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSnapshot {
+
+    private String id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    public static UserSnapshot from(User user) {
+        return new UserSnapshot(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail());
+    }
+}
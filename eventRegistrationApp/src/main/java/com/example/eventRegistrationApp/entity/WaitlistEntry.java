@@ -0,0 +1,47 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// One user waiting for a seat at a full event. Served highest priority first, then by _id
+// (arrival order); the entry is removed when the user is promoted to a registration.
+@Document(collection = "waitlist")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitlistEntry {
+
+    @Id
+    private ObjectId id;
+
+    public String getId() {
+        return id != null ? id.toHexString() : null;
+    }
+
+    private ObjectId eventId;
+
+    private ObjectId userId;
+
+    public String getEventId() {
+        return eventId != null ? eventId.toHexString() : null;
+    }
+
+    public String getUserId() {
+        return userId != null ? userId.toHexString() : null;
+    }
+
+    private String email;
+
+    @Builder.Default
+    private int priority = 0;
+
+    private Instant joinedAt;
+}
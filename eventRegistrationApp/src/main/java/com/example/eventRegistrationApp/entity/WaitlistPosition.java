@@ -0,0 +1,15 @@
+package com.example.eventRegistrationApp.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WaitlistPosition {
+    private String eventId;
+    // 1-based
+    private int position;
+    private int waiting;
+}
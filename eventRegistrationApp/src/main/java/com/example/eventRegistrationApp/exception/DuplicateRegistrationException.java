@@ -0,0 +1,7 @@
+package com.example.eventRegistrationApp.exception;
+
+public class DuplicateRegistrationException extends RuntimeException {
+    public DuplicateRegistrationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.eventRegistrationApp.exception;
+
+public class EventFullException extends RuntimeException {
+    public EventFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.eventRegistrationApp.exception;
+
+public class HashingOverloadedException extends RuntimeException {
+    public HashingOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.eventRegistrationApp.exception;
+
+public class RegistrationQueueFullException extends RuntimeException {
+    public RegistrationQueueFullException(String message) {
+        super(message);
+    }
+}
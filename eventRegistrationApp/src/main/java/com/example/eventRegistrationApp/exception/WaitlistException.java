@@ -0,0 +1,7 @@
+package com.example.eventRegistrationApp.exception;
+
+public class WaitlistException extends RuntimeException {
+    public WaitlistException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.eventRegistrationApp.reactive;
+
+import com.example.eventRegistrationApp.utils.JwtUtil;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.mongo.MongoAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.boot.web.reactive.server.ReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+// Reactive deployment mode: WebFlux on Netty with reactive Mongo repositories, serving the
+// public read and registration APIs (/events, /events/search, /register/**, /user) on a small,
+// fixed set of event-loop threads. Selected with app.mode=reactive (or APP_MODE=reactive), see
+// EventRegistrationAppApplication. Tokens are issued by servlet-mode instances (/public/login),
+// which also serve the /live streams; see ReactiveRegistrationsService for what reaches them.
+@SpringBootApplication(exclude = {
+        MongoAutoConfiguration.class,
+        MongoDataAutoConfiguration.class,
+        MongoRepositoriesAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class
+})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableReactiveMongoRepositories
+@Import(JwtUtil.class)
+public class ReactiveEventRegistrationApplication {
+
+    // Tomcat is on the classpath for servlet mode and would otherwise be picked first
+    @Bean
+    public ReactiveWebServerFactory reactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.eventRegistrationApp.reactive.config;
+
+import com.example.eventRegistrationApp.reactive.repository.ReactiveUserRepository;
+import com.example.eventRegistrationApp.service.CustomUserDetailsService;
+import com.example.eventRegistrationApp.utils.JwtUtil;
+import com.example.eventRegistrationApp.utils.VerifiedToken;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Optional;
+
+// Reactive counterpart of JwtAuthenticationFilter. Tokens are checked in memory (JwtUtil caches
+// verified tokens); only tokens without a role claim need a non-blocking user lookup.
+// Not a bean: WebFlux would otherwise also run it as a global filter outside the security chain.
+public class ReactiveJwtAuthenticationFilter implements WebFilter {
+
+    private final JwtUtil jwtUtil;
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveJwtAuthenticationFilter(JwtUtil jwtUtil, ReactiveUserRepository userRepository) {
+        this.jwtUtil = jwtUtil;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        VerifiedToken token = jwtUtil.verify(header.substring(7));
+        if (token == null) {
+            return chain.filter(exchange);
+        }
+
+        Mono<String> role = token.getRole() != null
+                ? Mono.just(token.getRole())
+                : userRepository.findByEmail(token.getUsername()).map(user -> String.valueOf(user.getRole()));
+        return role
+                .map(name -> Optional.of(authentication(token.getUsername(), name)))
+                // Unknown user: continue unauthenticated
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(authentication -> authentication
+                        .map(found -> chain.filter(exchange).contextWrite(ReactiveSecurityContextHolder.withAuthentication(found)))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private static Authentication authentication(String email, String role) {
+        return new UsernamePasswordAuthenticationToken(email, null,
+                List.of(new SimpleGrantedAuthority(CustomUserDetailsService.toAuthority(role))));
+    }
+}
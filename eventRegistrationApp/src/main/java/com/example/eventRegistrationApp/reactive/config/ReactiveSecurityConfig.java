@@ -0,0 +1,53 @@
+package com.example.eventRegistrationApp.reactive.config;
+
+import com.example.eventRegistrationApp.config.SpringSecurity;
+import com.example.eventRegistrationApp.reactive.repository.ReactiveUserRepository;
+import com.example.eventRegistrationApp.utils.JwtUtil;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.web.cors.reactive.CorsConfigurationSource;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import reactor.core.publisher.Mono;
+
+// Same access rules as SpringSecurity, for the routes the reactive mode serves
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtil jwtUtil, ReactiveUserRepository userRepository) {
+        return http
+                .cors(cors -> cors.configurationSource(reactiveCorsConfigurationSource()))
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                // Stateless: the token is checked on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(ex -> ex.authenticationEntryPoint((exchange, e) -> Mono.fromRunnable(
+                        () -> exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED))))
+                .authorizeExchange(auth -> auth
+                        .pathMatchers(HttpMethod.GET, "/actuator/health", "/actuator/prometheus").permitAll()
+                        .pathMatchers("/user/**").hasAnyRole("USER", "ADMIN")
+                        .pathMatchers("/register/**").hasAnyRole("USER", "ADMIN")
+                        .anyExchange().authenticated()
+                )
+                .addFilterAt(new ReactiveJwtAuthenticationFilter(jwtUtil, userRepository), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public CorsConfigurationSource reactiveCorsConfigurationSource() {
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", SpringSecurity.corsConfiguration());
+        return source;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.eventRegistrationApp.reactive.controllers;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.reactive.service.ReactiveEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventController {
+
+    @Autowired
+    private ReactiveEventService eventService;
+
+    @GetMapping("/events")
+    public Flux<Event> getAllEvents() {
+        return eventService.getAllEvents();
+    }
+
+    @GetMapping("/events/filter/location")
+    public Flux<Event> getEventsByLocation(@RequestParam String location) {
+        return eventService.getEventsByLocation(location);
+    }
+
+    @GetMapping("/events/search")
+    public Flux<Event> searchEvents(@RequestParam String query) {
+        return eventService.searchEvents(query);
+    }
+}
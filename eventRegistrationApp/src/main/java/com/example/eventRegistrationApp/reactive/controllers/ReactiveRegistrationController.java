@@ -0,0 +1,74 @@
+package com.example.eventRegistrationApp.reactive.controllers;
+
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.exception.DuplicateRegistrationException;
+import com.example.eventRegistrationApp.exception.EventFullException;
+import com.example.eventRegistrationApp.reactive.service.ReactiveRegistrationsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same routes and responses as RegistrationController
+@RestController
+@RequestMapping("/register")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRegistrationController {
+
+    @Autowired
+    private ReactiveRegistrationsService registrationService;
+
+    @PostMapping("/{eventId}")
+    public Mono<ResponseEntity<?>> registerForEvent(@PathVariable String eventId,
+                                                    @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return currentEmail()
+                .flatMap(email -> registrationService.createRegistration(email, eventId, idempotencyKey))
+                .<ResponseEntity<?>>map(registration -> new ResponseEntity<>(registration, HttpStatus.CREATED))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(),
+                        e instanceof EventFullException || e instanceof DuplicateRegistrationException
+                                ? HttpStatus.CONFLICT
+                                : HttpStatus.BAD_REQUEST)));
+    }
+
+    @DeleteMapping("/{registrationId}")
+    public Mono<ResponseEntity<String>> cancelRegistration(@PathVariable String registrationId) {
+        return registrationService.cancelRegistrationById(registrationId)
+                .map(cancelled -> cancelled
+                        ? new ResponseEntity<>("Registration cancelled successfully.", HttpStatus.OK)
+                        : new ResponseEntity<>("Registration not found.", HttpStatus.NOT_FOUND))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(), HttpStatus.INTERNAL_SERVER_ERROR)));
+    }
+
+    @GetMapping("/my-registrations")
+    public Flux<Registrations> getUserRegistrations() {
+        return currentEmail().flatMapMany(registrationService::getRegistrationsByUser);
+    }
+
+    @PutMapping("/accept/{registrationId}")
+    public Mono<ResponseEntity<?>> acceptRegistration(@PathVariable String registrationId) {
+        return updateStatus(registrationId, Registrations.Status.APPROVED);
+    }
+
+    @PutMapping("/reject/{registrationId}")
+    public Mono<ResponseEntity<?>> rejectRegistration(@PathVariable String registrationId) {
+        return updateStatus(registrationId, Registrations.Status.REJECTED);
+    }
+
+    private Mono<ResponseEntity<?>> updateStatus(String registrationId, Registrations.Status status) {
+        return Mono.defer(() -> registrationService.updateRegistrationStatus(registrationId, status))
+                .<ResponseEntity<?>>map(updated -> new ResponseEntity<>(updated, HttpStatus.OK))
+                .onErrorResume(e -> Mono.just(new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST)));
+    }
+
+    private static Mono<String> currentEmail() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(Authentication::getName);
+    }
+}
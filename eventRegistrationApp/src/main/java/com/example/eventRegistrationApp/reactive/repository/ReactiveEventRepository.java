@@ -0,0 +1,16 @@
+package com.example.eventRegistrationApp.reactive.repository;
+
+import com.example.eventRegistrationApp.entity.Event;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveEventRepository extends ReactiveMongoRepository<Event, ObjectId> {
+
+    // Same collation as the events.location index
+    @Query(value = "{ 'location': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
+    Flux<Event> findByLocationIgnoreCase(String location);
+
+    Flux<Event> findByEventNameContainingIgnoreCaseOrLocationContainingIgnoreCase(String eventName, String location);
+}
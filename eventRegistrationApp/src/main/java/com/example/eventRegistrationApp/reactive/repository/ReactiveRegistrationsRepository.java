@@ -0,0 +1,14 @@
+package com.example.eventRegistrationApp.reactive.repository;
+
+import com.example.eventRegistrationApp.entity.Registrations;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveRegistrationsRepository extends ReactiveMongoRepository<Registrations, ObjectId> {
+
+    Flux<Registrations> findByUserId(ObjectId userId);
+
+    Mono<Registrations> findByUserIdAndEventId(ObjectId userId, ObjectId eventId);
+}
@@ -0,0 +1,11 @@
+package com.example.eventRegistrationApp.reactive.repository;
+
+import com.example.eventRegistrationApp.entity.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUserRepository extends ReactiveMongoRepository<User, ObjectId> {
+
+    Mono<User> findByEmail(String email);
+}
@@ -0,0 +1,29 @@
+package com.example.eventRegistrationApp.reactive.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.reactive.repository.ReactiveEventRepository;
+import com.example.eventRegistrationApp.utils.LocationNormalizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveEventService {
+
+    @Autowired
+    private ReactiveEventRepository eventRepository;
+
+    public Flux<Event> getAllEvents() {
+        return eventRepository.findAll();
+    }
+
+    public Flux<Event> getEventsByLocation(String location) {
+        return eventRepository.findByLocationIgnoreCase(LocationNormalizer.normalize(location));
+    }
+
+    public Flux<Event> searchEvents(String query) {
+        return eventRepository.findByEventNameContainingIgnoreCaseOrLocationContainingIgnoreCase(query, query);
+    }
+}
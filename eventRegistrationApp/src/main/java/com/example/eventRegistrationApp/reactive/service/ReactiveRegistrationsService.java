@@ -0,0 +1,261 @@
+package com.example.eventRegistrationApp.reactive.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.RegistrationStatsBucket;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.WaitlistEntry;
+import com.example.eventRegistrationApp.exception.DuplicateRegistrationException;
+import com.example.eventRegistrationApp.exception.EventFullException;
+import com.example.eventRegistrationApp.reactive.repository.ReactiveEventRepository;
+import com.example.eventRegistrationApp.reactive.repository.ReactiveRegistrationsRepository;
+import com.example.eventRegistrationApp.reactive.repository.ReactiveUserRepository;
+import com.example.eventRegistrationApp.service.RegistrationAnalyticsService;
+import com.example.eventRegistrationApp.service.WaitlistService;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Registration flow of RegistrationsService on reactive repositories: same seat stripes,
+// same unique (userId, eventId) index, same Idempotency-Key replay, the same stats buckets and
+// the same waitlist promotion when a seat is freed. LiveUpdateHub streams are servlet-only and
+// not fed from here: servlet instances pick up seat counts changed here on their periodic seat
+// refresh, but per-user status streams don't hear of changes made through this mode.
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRegistrationsService {
+
+    @Autowired
+    private ReactiveRegistrationsRepository registrationsRepository;
+
+    @Autowired
+    private ReactiveUserRepository userRepository;
+
+    @Autowired
+    private ReactiveEventRepository eventRepository;
+
+    @Autowired
+    private ReactiveSeatReservationService seatReservationService;
+
+    @Autowired
+    private ReactiveMongoTemplate mongoTemplate;
+
+    private volatile boolean uniqueIndex;
+
+    public Mono<Registrations> createRegistration(String userEmail, String eventId, String idempotencyKey) {
+        Mono<User> user = userRepository.findByEmail(userEmail)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")));
+        Mono<Event> event = findEvent(eventId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Event not found")));
+
+        return Mono.zip(user, event).flatMap(found -> register(found.getT1(), found.getT2(), idempotencyKey));
+    }
+
+    private Mono<Registrations> register(User user, Event event, String idempotencyKey) {
+        return findUnindexedDuplicate(user, event)
+                .flatMap(existing -> idempotencyKey != null && idempotencyKey.equals(existing.getIdempotencyKey())
+                        ? Mono.just(existing)
+                        : Mono.<Registrations>error(new DuplicateRegistrationException("Already registered for this event")))
+                .switchIfEmpty(Mono.defer(() -> reserveAndInsert(user, event, idempotencyKey)));
+    }
+
+    private Mono<Registrations> reserveAndInsert(User user, Event event, String idempotencyKey) {
+        return seatReservationService.reserve(event).flatMap(reserved -> {
+            if (!reserved) {
+                // The original request may have taken the last seat
+                return findReplay(user, event, idempotencyKey)
+                        .switchIfEmpty(Mono.error(() -> new EventFullException("Event is full")));
+            }
+
+            Registrations registration = Registrations.of(user, event);
+            registration.setIdempotencyKey(idempotencyKey);
+            return registrationsRepository.insert(registration)
+                    .flatMap(saved -> recordChanges(changes -> changes.created(saved)).thenReturn(saved))
+                    .onErrorResume(e -> {
+                        Mono<Void> release = seatReservationService.release(event.getId(), 1);
+                        if (e instanceof DuplicateKeyException) {
+                            return release.then(findReplay(user, event, idempotencyKey))
+                                    .switchIfEmpty(Mono.error(() -> new DuplicateRegistrationException("Already registered for this event")));
+                        }
+                        return release.then(Mono.error(e));
+                    });
+        });
+    }
+
+    public Flux<Registrations> getRegistrationsByUser(String email) {
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("User not found")))
+                .flatMapMany(user -> registrationsRepository.findByUserId(new ObjectId(user.getId())));
+    }
+
+    // Emits false when there is no such registration
+    public Mono<Boolean> cancelRegistrationById(String registrationId) {
+        if (!ObjectId.isValid(registrationId)) {
+            return Mono.just(false);
+        }
+        // Only the request that actually removes the document gives the seat back
+        return mongoTemplate.findAndRemove(new Query(where("_id").is(new ObjectId(registrationId))), Registrations.class)
+                .flatMap(registration -> recordChanges(changes -> changes.cancelled(registration))
+                        // Rejected registrations already gave their seat back
+                        .then(registration.getStatus() != Registrations.Status.REJECTED && registration.getEventId() != null
+                                ? seatReservationService.release(registration.getEventId(), 1)
+                                        .then(promoteFromWaitlist(registration.getEventId()))
+                                        .then()
+                                : Mono.empty())
+                        .thenReturn(true))
+                .defaultIfEmpty(false);
+    }
+
+    // Writes only if the status is still the one read; a lost race re-reads and tries again
+    public Mono<Registrations> updateRegistrationStatus(String registrationId, Registrations.Status status) {
+        ObjectId objectId = new ObjectId(registrationId);
+        return registrationsRepository.findById(objectId)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Registration not found")))
+                .flatMap(registration -> {
+                    Registrations.Status previous = registration.getStatus();
+                    String eventId = registration.getEventId();
+                    if (previous == status) {
+                        return Mono.just(registration);
+                    }
+
+                    // Taking a rejected registration back needs a seat before the write
+                    Mono<Boolean> reserved = Mono.just(false);
+                    if (previous == Registrations.Status.REJECTED && eventId != null) {
+                        reserved = findEvent(eventId)
+                                .flatMap(event -> seatReservationService.reserve(event).flatMap(ok -> ok
+                                        ? Mono.just(event.getMaxParticipants() != null)
+                                        : Mono.<Boolean>error(new EventFullException("Event is full"))))
+                                .defaultIfEmpty(false);
+                    }
+
+                    return reserved.flatMap(held -> {
+                        Mono<Void> giveBack = held ? seatReservationService.release(eventId, 1) : Mono.empty();
+                        return mongoTemplate.findAndModify(
+                                        new Query(where("_id").is(objectId).and("status").is(previous)),
+                                        new Update().set("status", status),
+                                        FindAndModifyOptions.options().returnNew(true),
+                                        Registrations.class)
+                                .onErrorResume(e -> giveBack.then(Mono.error(e)))
+                                .flatMap(saved -> recordChanges(changes -> changes.statusChanged(saved, previous, status))
+                                        // A rejection frees the seat, once the write is known to have happened
+                                        .then(status == Registrations.Status.REJECTED && eventId != null
+                                                ? seatReservationService.release(eventId, 1)
+                                                        .then(promoteFromWaitlist(eventId))
+                                                        .then()
+                                                : Mono.empty())
+                                        .thenReturn(saved))
+                                .switchIfEmpty(Mono.defer(() -> giveBack.then(updateRegistrationStatus(registrationId, status))));
+                    });
+                });
+    }
+
+    // Same promotion as RegistrationsService.promoteFromWaitlist, on the same waitlist collection:
+    // every promotion takes a seat before claiming a waiter, so the number promoted never exceeds
+    // the seats freed. Never fails the caller.
+    public Mono<Integer> promoteFromWaitlist(String eventId) {
+        return findEvent(eventId)
+                .flatMap(event -> promoteWhileSeatsFree(event, 0))
+                .defaultIfEmpty(0)
+                .onErrorResume(e -> {
+                    log.warn("Waitlist promotion for event {} stopped: {}", eventId, e.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    private Mono<Integer> promoteWhileSeatsFree(Event event, int promoted) {
+        return seatReservationService.reserve(event).flatMap(reserved -> {
+            if (!reserved) {
+                return Mono.just(promoted);
+            }
+            Mono<Void> giveBack = seatReservationService.release(event.getId(), 1);
+            return promoteNext(event)
+                    .onErrorResume(e -> giveBack.then(Mono.error(e)))
+                    .flatMap(registered -> registered
+                            ? promoteWhileSeatsFree(event, promoted + 1)
+                            : giveBack.thenReturn(promoted));
+        });
+    }
+
+    // Registers waiters in order until one succeeds with the seat already held; false when nobody is waiting
+    private Mono<Boolean> promoteNext(Event event) {
+        return mongoTemplate.findAndRemove(
+                        new Query(where("eventId").is(new ObjectId(event.getId()))).with(WaitlistService.SERVING_ORDER),
+                        WaitlistEntry.class)
+                .flatMap(entry -> registerWaiter(entry, event)
+                        .flatMap(registered -> registered ? Mono.just(true) : promoteNext(event)))
+                .defaultIfEmpty(false);
+    }
+
+    // False when the waiter is gone or got registered some other way meanwhile
+    private Mono<Boolean> registerWaiter(WaitlistEntry entry, Event event) {
+        return userRepository.findByEmail(entry.getEmail())
+                .flatMap(user -> findUnindexedDuplicate(user, event)
+                        .map(existing -> false)
+                        .switchIfEmpty(Mono.defer(() -> registrationsRepository.insert(Registrations.of(user, event))
+                                .flatMap(saved -> recordChanges(changes -> changes.created(saved)).thenReturn(true))
+                                // Any other failure puts the claimed entry back in its old place
+                                .onErrorResume(e -> e instanceof DuplicateKeyException
+                                        ? Mono.just(false)
+                                        : mongoTemplate.save(entry).then(Mono.error(e))))))
+                .defaultIfEmpty(false);
+    }
+
+    private Mono<Event> findEvent(String eventId) {
+        return ObjectId.isValid(eventId) ? eventRepository.findById(new ObjectId(eventId)) : Mono.empty();
+    }
+
+    // The unique (userId, eventId) index is built by servlet-mode instances; until it exists the
+    // insert can't catch duplicates, so they are looked for up front
+    private Mono<Registrations> findUnindexedDuplicate(User user, Event event) {
+        Mono<Boolean> indexed = uniqueIndex
+                ? Mono.just(true)
+                : mongoTemplate.indexOps(Registrations.class).getIndexInfo()
+                        .any(info -> info.isUnique() && info.getIndexFields().size() == 2 && info.isIndexForFields(List.of("userId", "eventId")))
+                        .doOnNext(found -> uniqueIndex = found);
+        return indexed.flatMap(found -> found
+                ? Mono.<Registrations>empty()
+                : registrationsRepository.findByUserIdAndEventId(new ObjectId(user.getId()), new ObjectId(event.getId())));
+    }
+
+    private Mono<Registrations> findReplay(User user, Event event, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return Mono.empty();
+        }
+        return registrationsRepository.findByUserIdAndEventId(new ObjectId(user.getId()), new ObjectId(event.getId()))
+                .filter(existing -> idempotencyKey.equals(existing.getIdempotencyKey()));
+    }
+
+    // Same buckets RegistrationAnalyticsService maintains; failures never fail the registration
+    private Mono<Void> recordChanges(Consumer<RegistrationAnalyticsService.Changes> change) {
+        RegistrationAnalyticsService.Changes changes = new RegistrationAnalyticsService.Changes();
+        change.accept(changes);
+        if (changes.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveBulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RegistrationStatsBucket.class);
+        changes.toUpserts().forEach(upsert -> bulk.upsert(upsert.getFirst(), upsert.getSecond()));
+        return bulk.execute()
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not update registration stats: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
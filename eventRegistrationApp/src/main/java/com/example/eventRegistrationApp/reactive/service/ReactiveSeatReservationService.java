@@ -0,0 +1,147 @@
+package com.example.eventRegistrationApp.reactive.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSeatStripe;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.mongodb.MongoBulkWriteException;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Non-blocking counterpart of SeatReservationService over the same event_seats stripe documents,
+// so servlet and reactive instances can serve one event side by side. app.seats.stripes must match.
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSeatReservationService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final int stripeCount;
+
+    // Events whose stripes are known to exist
+    private final Set<String> initialised = ConcurrentHashMap.newKeySet();
+
+    public ReactiveSeatReservationService(ReactiveMongoTemplate mongoTemplate,
+                                          @Value("${app.seats.stripes:8}") int stripeCount) {
+        this.mongoTemplate = mongoTemplate;
+        this.stripeCount = stripeCount;
+    }
+
+    // Emits false when the event is full. Events without a limit always succeed.
+    public Mono<Boolean> reserve(Event event) {
+        if (event.getMaxParticipants() == null) {
+            return Mono.just(true);
+        }
+        String eventId = event.getId();
+        int start = ThreadLocalRandom.current().nextInt(stripeCount);
+        return ensureStripes(event)
+                .then(tryTake(EventSeatStripe.idFor(eventId, start)))
+                .switchIfEmpty(Mono.defer(() -> takeFromAny(eventId)));
+    }
+
+    public Mono<Void> release(String eventId, int count) {
+        if (count <= 0) {
+            return Mono.empty();
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(stripeCount);
+        // No upsert: events without a limit have no stripes to return seats to
+        return mongoTemplate.updateFirst(
+                new Query(where("_id").is(EventSeatStripe.idFor(eventId, stripe))),
+                new Update().inc("remaining", count),
+                EventSeatStripe.class
+        ).then();
+    }
+
+    // Empty when the stripe has no seat left
+    private Mono<Boolean> tryTake(String stripeId) {
+        return mongoTemplate.findAndModify(
+                new Query(where("_id").is(stripeId).and("remaining").gt(0)),
+                new Update().inc("remaining", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                EventSeatStripe.class
+        ).map(updated -> true);
+    }
+
+    // Tries every stripe that still has seats, in random order; starts over if all were taken meanwhile
+    private Mono<Boolean> takeFromAny(String eventId) {
+        return mongoTemplate.find(new Query(where("_id").in(stripeIds(eventId)).and("remaining").gt(0)), EventSeatStripe.class)
+                .collectList()
+                .flatMap(withSeats -> {
+                    if (withSeats.isEmpty()) {
+                        return Mono.just(false);
+                    }
+                    List<EventSeatStripe> candidates = new ArrayList<>(withSeats);
+                    Collections.shuffle(candidates, ThreadLocalRandom.current());
+                    return Flux.fromIterable(candidates)
+                            .concatMap(stripe -> tryTake(stripe.getId()))
+                            .next()
+                            .switchIfEmpty(Mono.defer(() -> takeFromAny(eventId)));
+                });
+    }
+
+    private Mono<Void> ensureStripes(Event event) {
+        String eventId = event.getId();
+        if (initialised.contains(eventId)) {
+            return Mono.empty();
+        }
+        return mongoTemplate.exists(new Query(where("_id").in(stripeIds(eventId))), EventSeatStripe.class)
+                .flatMap(exists -> exists ? Mono.<Void>empty() : createStripes(event))
+                .doOnSuccess(done -> initialised.add(eventId));
+    }
+
+    private Mono<Void> createStripes(Event event) {
+        ObjectId eventObjectId = new ObjectId(event.getId());
+        return mongoTemplate.count(
+                new Query(where("eventId").is(eventObjectId).and("status").ne(Registrations.Status.REJECTED)),
+                Registrations.class
+        ).flatMap(taken -> {
+            long free = Math.max(event.getMaxParticipants() - taken, 0);
+            List<EventSeatStripe> stripes = new ArrayList<>(stripeCount);
+            for (int stripe = 0; stripe < stripeCount; stripe++) {
+                long share = free / stripeCount + (stripe < free % stripeCount ? 1 : 0);
+                stripes.add(new EventSeatStripe(EventSeatStripe.idFor(event.getId(), stripe), eventObjectId, stripe, (int) share));
+            }
+            return mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventSeatStripe.class)
+                    .insert(stripes)
+                    .execute()
+                    .then()
+                    // Another request or node created the stripes first; theirs are authoritative
+                    .onErrorResume(ReactiveSeatReservationService::onlyDuplicates, e -> Mono.empty());
+        });
+    }
+
+    private static boolean onlyDuplicates(Throwable e) {
+        if (e instanceof BulkOperationException bulk) {
+            return bulk.getErrors().stream().allMatch(error -> error.getCode() == 11000);
+        }
+        if (e instanceof MongoBulkWriteException bulk) {
+            return bulk.getWriteErrors().stream().allMatch(error -> error.getCode() == 11000);
+        }
+        return false;
+    }
+
+    private List<String> stripeIds(String eventId) {
+        List<String> ids = new ArrayList<>(stripeCount);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            ids.add(EventSeatStripe.idFor(eventId, stripe));
+        }
+        return ids;
+    }
+}
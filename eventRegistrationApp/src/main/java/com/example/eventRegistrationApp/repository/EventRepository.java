@@ -5,12 +5,15 @@ import com.example.eventRegistrationApp.entity.Registrations;
 import com.example.eventRegistrationApp.entity.User;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface EventRepository extends MongoRepository<Event, ObjectId> {
 
+    // Equality under the same case-insensitive collation as the location index, instead of a regex scan
+    @Query(value = "{ 'location': ?0 }", collation = "{ 'locale': 'en', 'strength': 2 }")
     List<Event> findByLocationIgnoreCase(String location);
 
 
@@ -1,8 +1,6 @@
 package com.example.eventRegistrationApp.repository;
 
-import com.example.eventRegistrationApp.entity.Event;
 import com.example.eventRegistrationApp.entity.Registrations;
-import com.example.eventRegistrationApp.entity.User;
 import org.bson.types.ObjectId;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
@@ -10,13 +8,12 @@ import java.util.List;
 import java.util.Optional;
 
 public interface RegistrationsRepository extends MongoRepository<Registrations, ObjectId> {
-    boolean existsByUserAndEvent(User user, Event event);
-    List<Registrations> findByUser(User user);
+    List<Registrations> findByUserId(ObjectId userId);
 
     Optional<Registrations> findById(ObjectId id);
 
 
-    Optional<Registrations> findByUserAndEvent(User user, Event event);
+    Optional<Registrations> findByUserIdAndEventId(ObjectId userId, ObjectId eventId);
 
     List<Registrations> findByStatus(Registrations.Status status);
 }
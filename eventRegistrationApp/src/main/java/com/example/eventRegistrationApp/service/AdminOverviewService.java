@@ -0,0 +1,126 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.AdminOverview;
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.RecentActivity;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.UserSnapshot;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Builds the admin dashboard summary from counts, one small aggregation and a few
+// "latest N" queries, and serves it from a snapshot that is rebuilt at most once per TTL.
+@Service
+public class AdminOverviewService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.admin.overview-ttl:10s}")
+    private Duration ttl;
+
+    @Value("${app.admin.overview-recent:5}")
+    private int recentLimit;
+
+    private volatile AdminOverview snapshot;
+
+    public AdminOverview getOverview() {
+        AdminOverview current = snapshot;
+        if (current != null && current.getGeneratedAt().plus(ttl).isAfter(Instant.now())) {
+            return current;
+        }
+        return refresh();
+    }
+
+    // Only one caller rebuilds; the others waiting on the lock pick up its result
+    private synchronized AdminOverview refresh() {
+        AdminOverview current = snapshot;
+        if (current != null && current.getGeneratedAt().plus(ttl).isAfter(Instant.now())) {
+            return current;
+        }
+
+        // Per-status counts are index count scans on (status, _id)
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        for (Registrations.Status status : Registrations.Status.values()) {
+            byStatus.put(status.name(), mongoTemplate.count(new Query(where("status").is(status)), Registrations.class));
+        }
+
+        Map<String, Long> byRole = new LinkedHashMap<>();
+        Aggregation roles = Aggregation.newAggregation(Aggregation.group("role").count().as("count"));
+        for (Document row : mongoTemplate.aggregate(roles, User.class, Document.class)) {
+            byRole.put(String.valueOf(row.get("_id")), ((Number) row.get("count")).longValue());
+        }
+
+        List<User> users = latest(User.class);
+        List<Event> events = latest(Event.class);
+        List<Registrations> registrations = latest(Registrations.class);
+
+        AdminOverview overview = new AdminOverview(
+                mongoTemplate.estimatedCount(User.class),
+                mongoTemplate.estimatedCount(Event.class),
+                mongoTemplate.estimatedCount(Registrations.class),
+                byStatus.get(Registrations.Status.PENDING.name()),
+                byStatus,
+                byRole,
+                users.stream().map(UserSnapshot::from).toList(),
+                events,
+                registrations,
+                activity(users, events, registrations),
+                Instant.now()
+        );
+        snapshot = overview;
+        return overview;
+    }
+
+    private <T> List<T> latest(Class<T> type) {
+        return mongoTemplate.find(new Query().with(Sort.by(Sort.Direction.DESC, "_id")).limit(recentLimit), type);
+    }
+
+    // Creation times come from the ObjectIds, so no timestamp fields are needed
+    private List<RecentActivity> activity(List<User> users, List<Event> events, List<Registrations> registrations) {
+        List<RecentActivity> activity = new ArrayList<>();
+        for (User user : users) {
+            activity.add(new RecentActivity(user.getId(), "user_registered", fullName(user.getFirstName(), user.getLastName()), null, null, createdAt(user.getId())));
+        }
+        for (Event event : events) {
+            activity.add(new RecentActivity(event.getId(), "event_created", null, null, event.getEventName(), createdAt(event.getId())));
+        }
+        for (Registrations registration : registrations) {
+            if (registration.getStatus() == Registrations.Status.PENDING) {
+                continue;
+            }
+            String type = registration.getStatus() == Registrations.Status.APPROVED ? "registration_approved" : "registration_rejected";
+            String user = registration.getUser() != null ? fullName(registration.getUser().getFirstName(), registration.getUser().getLastName()) : null;
+            String event = registration.getEvent() != null ? registration.getEvent().getEventName() : null;
+            activity.add(new RecentActivity(registration.getId(), type, user, event, null, createdAt(registration.getId())));
+        }
+        activity.sort(Comparator.comparing(RecentActivity::getTimestamp).reversed());
+        return activity.size() > recentLimit ? new ArrayList<>(activity.subList(0, recentLimit)) : activity;
+    }
+
+    private static Instant createdAt(String id) {
+        return new ObjectId(id).getDate().toInstant();
+    }
+
+    private static String fullName(String firstName, String lastName) {
+        return lastName != null ? firstName + " " + lastName : firstName;
+    }
+}
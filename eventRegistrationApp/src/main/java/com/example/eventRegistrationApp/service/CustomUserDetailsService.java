@@ -2,36 +2,76 @@ package com.example.eventRegistrationApp.service;
 
 import com.example.eventRegistrationApp.entity.User;
 import com.example.eventRegistrationApp.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Keyed by email; entries are evicted by UserService whenever a user is saved or deleted,
+    // under the previous email as well when it changed
+    private final Cache<String, UserDetails> userDetailsCache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${app.security.user-details-cache-size:10000}") long cacheSize,
+                                    @Value("${app.security.user-details-cache-ttl:10m}") Duration cacheTtl) {
+        this.userRepository = userRepository;
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(email, this::loadFromRepository);
+        // Hand out a copy: the authentication manager erases credentials on the instance it is given
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            userDetailsCache.invalidate(email);
+        }
+    }
+
+    public long cacheSize() {
+        return userDetailsCache.estimatedSize();
+    }
+
+    // Builds the principal straight from the token claims, without touching the database
+    public UserDetails fromClaims(String email, String role) {
+        return new org.springframework.security.core.userdetails.User(
+                email,
+                "",
+                Collections.singletonList(new SimpleGrantedAuthority(toAuthority(role)))
+        );
+    }
+
+    private UserDetails loadFromRepository(String email) {
         // Find user by email
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
-        // Ensure role is prefixed with "ROLE_" if it is not already
-        String role = String.valueOf(user.getRole());  // Assuming getRole() returns a String like "USER" or "ADMIN"
-        if (!role.startsWith("ROLE_")) {
-            role = "ROLE_" + role;  // Ensure that role is prefixed
-        }
-
         // Return Spring Security compatible UserDetails object
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority(role))
+                Collections.singletonList(new SimpleGrantedAuthority(toAuthority(String.valueOf(user.getRole()))))
         );
     }
+
+    // Ensure role is prefixed with "ROLE_" if it is not already
+    public static String toAuthority(String role) {
+        return role.startsWith("ROLE_") ? role : "ROLE_" + role;
+    }
 }
@@ -0,0 +1,108 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Read-through cache for the event and user documents the registration path looks up on
+// every request. EventService and UserService evict entries when they write (UserService
+// under both the old and the new email when an update changes it); the TTL bounds
+// staleness from writes made elsewhere. Cached instances are shared, so callers must not modify them.
+@Service
+public class EntityCache implements MeterBinder {
+
+    private final EventRepository eventRepository;
+    private final UserRepository userRepository;
+
+    // Keyed by event id (hex string)
+    private final Cache<String, Event> events;
+    // Keyed by email
+    private final Cache<String, User> users;
+
+    public EntityCache(EventRepository eventRepository,
+                       UserRepository userRepository,
+                       @Value("${app.cache.events.size:10000}") long eventCacheSize,
+                       @Value("${app.cache.events.ttl:1m}") Duration eventCacheTtl,
+                       @Value("${app.cache.users.size:50000}") long userCacheSize,
+                       @Value("${app.cache.users.ttl:5m}") Duration userCacheTtl) {
+        this.eventRepository = eventRepository;
+        this.userRepository = userRepository;
+        this.events = Caffeine.newBuilder()
+                .maximumSize(eventCacheSize)
+                .expireAfterWrite(eventCacheTtl)
+                .recordStats()
+                .build();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(userCacheSize)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .build();
+    }
+
+    // Misses are not cached, so an event created elsewhere shows up straight away
+    public Optional<Event> findEvent(String eventId) {
+        if (!ObjectId.isValid(eventId)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(events.get(eventId, id -> eventRepository.findById(new ObjectId(id)).orElse(null)));
+    }
+
+    public Optional<User> findUserByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(users.get(email, key -> userRepository.findByEmail(key).orElse(null)));
+    }
+
+    public void evictEvent(String eventId) {
+        if (eventId != null) {
+            events.invalidate(eventId);
+        }
+    }
+
+    public void evictUser(String email) {
+        if (email != null) {
+            users.invalidate(email);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, events, "events");
+        CaffeineCacheMetrics.monitor(registry, users, "users");
+    }
+
+    public Map<String, Map<String, Object>> stats() {
+        Map<String, Map<String, Object>> stats = new LinkedHashMap<>();
+        stats.put("events", describe(events));
+        stats.put("users", describe(users));
+        return stats;
+    }
+
+    private static Map<String, Object> describe(Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("size", cache.estimatedSize());
+        description.put("hits", stats.hitCount());
+        description.put("misses", stats.missCount());
+        description.put("hitRate", stats.hitRate());
+        description.put("evictions", stats.evictionCount());
+        description.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return description;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+// The full event list, serialized once and kept as plain and gzipped JSON bytes.
+// Event writes bump the version; the next read rebuilds it (one thread at a time) while
+// other readers keep getting the previous bytes instead of waiting. Only the very first
+// build makes readers wait. The TTL picks up writes made through other application instances.
+@Service
+public class EventCatalogSnapshot {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.events.catalog-ttl:30s}")
+    private Duration ttl;
+
+    private final AtomicLong version = new AtomicLong();
+    private final ReentrantLock rebuilding = new ReentrantLock();
+
+    private volatile Catalog current;
+
+    public Catalog get() {
+        Catalog catalog = current;
+        if (isFresh(catalog)) {
+            return catalog;
+        }
+        // Someone is already rebuilding; the previous list is good enough until they finish
+        if (catalog != null && !rebuilding.tryLock()) {
+            return catalog;
+        }
+        if (catalog == null) {
+            rebuilding.lock();
+        }
+        try {
+            catalog = current;
+            if (isFresh(catalog)) {
+                return catalog;
+            }
+            // Read the version first, so a write racing with the rebuild leaves it stale
+            long building = version.get();
+            current = build(building, eventRepository.findAll());
+            return current;
+        } finally {
+            rebuilding.unlock();
+        }
+    }
+
+    public void invalidate() {
+        version.incrementAndGet();
+    }
+
+    private boolean isFresh(Catalog catalog) {
+        return catalog != null
+                && catalog.version == version.get()
+                && System.nanoTime() - catalog.builtAt < ttl.toNanos();
+    }
+
+    private Catalog build(long version, List<Event> events) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(events);
+            ByteArrayOutputStream gzipped = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+                gzip.write(json);
+            }
+            return new Catalog(version, json, gzipped.toByteArray(), etagOf(json), System.nanoTime());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Strong validator derived from the content, so instances serving the same list agree on it.
+    // Returned unquoted; Catalog adds the quotes and the gzip suffix.
+    private static String etagOf(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    public static class Catalog {
+        private final long version;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        // The gzipped bytes are a different representation, so they need their own strong tag
+        private final String gzipEtag;
+        private final long builtAt;
+
+        Catalog(long version, byte[] json, byte[] gzip, String etag, long builtAt) {
+            this.version = version;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = '"' + etag + '"';
+            this.gzipEtag = '"' + etag + "-gzip" + '"';
+            this.builtAt = builtAt;
+        }
+
+        public String getEtag(boolean gzipped) {
+            return gzipped ? gzipEtag : etag;
+        }
+
+        // If-None-Match uses the weak comparison, so W/ prefixes are ignored and either
+        // encoding's tag matches: both stand for the same list
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.equals("*")) {
+                    return true;
+                }
+                if (candidate.startsWith("W/")) {
+                    candidate = candidate.substring(2);
+                }
+                if (candidate.equals(etag) || candidate.equals(gzipEtag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.config.StartupTasks;
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-memory search over event name and location.
+// Words go into a sorted term dictionary (exact and prefix matches are a range lookup) and
+// field text is also indexed by trigram so substrings still match, as the old "containing"
+// query did. An event matches when every query word does, or when the whole query appears in
+// its name or location as typed (including across word breaks, e.g. "a sum" in "Java Summit").
+// Words and queries too short for a trigram fall back to scanning the indexed events.
+// Results are ranked by how well they match.
+@Slf4j
+@Component
+public class EventSearchIndex {
+
+    private static final float NAME_WEIGHT = 2f;
+    private static final float LOCATION_WEIGHT = 1f;
+    private static final float EXACT = 3f;
+    private static final float PREFIX = 2f;
+    private static final float INFIX = 1f;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, IndexedEvent> events = new HashMap<>();
+    // term -> event id -> field weight (best field the term occurs in)
+    private final NavigableMap<String, Map<String, Float>> terms = new TreeMap<>();
+    // trigram -> ids of events whose name or location contains it
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    // Changes made while a rebuild reads the collection, replayed over what it read so an event
+    // created or deleted meanwhile isn't lost until the next refresh. A null value is a removal.
+    // Null when no rebuild is running; guarded by the write lock.
+    private Map<String, Event> changedDuringRebuild;
+    private final Object rebuilding = new Object();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        startupTasks.run("search-index", this::rebuild);
+    }
+
+    // Picks up changes made through other application instances
+    @Scheduled(initialDelayString = "${app.search.refresh-interval:5m}", fixedDelayString = "${app.search.refresh-interval:5m}")
+    public void rebuild() {
+        synchronized (rebuilding) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            try {
+                List<Event> all = eventRepository.findAll();
+                lock.writeLock().lock();
+                try {
+                    events.clear();
+                    terms.clear();
+                    trigrams.clear();
+                    all.forEach(this::add);
+                    changedDuringRebuild.forEach((eventId, event) -> {
+                        unindex(eventId);
+                        if (event != null) {
+                            add(event);
+                        }
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                ready = true;
+            } catch (Exception e) {
+                log.warn("Could not build the event search index: {}", e.getMessage());
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    public void index(Event event) {
+        lock.writeLock().lock();
+        try {
+            unindex(event.getId());
+            add(event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(event.getId(), event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String eventId) {
+        lock.writeLock().lock();
+        try {
+            unindex(eventId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(eventId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Event> search(String query) {
+        List<String> words = tokenize(normalize(query));
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<String, Float> scores = null;
+            for (String word : words) {
+                Map<String, Float> wordScores = score(word);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    // Every word has to match somewhere
+                    scores.keySet().retainAll(wordScores.keySet());
+                    for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                        entry.setValue(entry.getValue() + wordScores.get(entry.getKey()));
+                    }
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            String phrase = normalize(query).trim();
+            if (words.size() > 1 || !phrase.equals(words.get(0))) {
+                for (Map.Entry<String, Float> match : containing(phrase).entrySet()) {
+                    scores.putIfAbsent(match.getKey(), INFIX * match.getValue());
+                }
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+
+            List<ScoredEvent> results = new ArrayList<>(scores.size());
+            for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                IndexedEvent indexed = events.get(entry.getKey());
+                float score = entry.getValue();
+                if (indexed.name.contains(phrase)) {
+                    score += EXACT;
+                }
+                results.add(new ScoredEvent(indexed.event, score));
+            }
+            results.sort(Comparator.comparing(ScoredEvent::score).reversed()
+                    .thenComparing(scored -> scored.event().getDate(), Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder())));
+            return results.stream().map(ScoredEvent::event).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Best score per event for one query word: exact term, term prefix, or substring anywhere
+    private Map<String, Float> score(String word) {
+        Map<String, Float> scores = new HashMap<>();
+
+        Map<String, Float> exact = terms.get(word);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.merge(id, EXACT * weight, Math::max));
+        }
+
+        for (Map<String, Float> postings : terms.subMap(word, false, word + Character.MAX_VALUE, false).values()) {
+            postings.forEach((id, weight) -> scores.merge(id, PREFIX * weight, Math::max));
+        }
+
+        containing(word).forEach((id, weight) -> scores.merge(id, INFIX * weight, Math::max));
+        return scores;
+    }
+
+    // Events whose name or location contains the text anywhere, with the weight of the better field
+    private Map<String, Float> containing(String text) {
+        Map<String, Float> matches = new HashMap<>();
+        if (text.isEmpty()) {
+            return matches;
+        }
+        // Too short for a trigram: check every event
+        Iterable<String> candidates = text.length() >= 3 ? trigramCandidates(text) : events.keySet();
+        for (String id : candidates) {
+            IndexedEvent indexed = events.get(id);
+            if (indexed.name.contains(text)) {
+                matches.put(id, NAME_WEIGHT);
+            } else if (indexed.location.contains(text)) {
+                matches.put(id, LOCATION_WEIGHT);
+            }
+        }
+        return matches;
+    }
+
+    private Set<String> trigramCandidates(String word) {
+        Set<String> candidates = null;
+        for (String gram : trigramsOf(word)) {
+            Set<String> ids = trigrams.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(ids);
+            } else {
+                candidates.retainAll(ids);
+            }
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates != null ? candidates : Set.of();
+    }
+
+    // Callers hold the write lock (or are rebuilding under it)
+    private void add(Event event) {
+        if (event.getId() == null) {
+            return;
+        }
+        IndexedEvent indexed = new IndexedEvent(event, normalize(event.getEventName()), normalize(event.getLocation()));
+        events.put(event.getId(), indexed);
+
+        for (String term : tokenize(indexed.name)) {
+            terms.computeIfAbsent(term, t -> new HashMap<>()).merge(event.getId(), NAME_WEIGHT, Math::max);
+        }
+        for (String term : tokenize(indexed.location)) {
+            terms.computeIfAbsent(term, t -> new HashMap<>()).merge(event.getId(), LOCATION_WEIGHT, Math::max);
+        }
+        for (String gram : indexed.trigrams()) {
+            trigrams.computeIfAbsent(gram, g -> new HashSet<>()).add(event.getId());
+        }
+    }
+
+    // Callers hold the write lock
+    private void unindex(String eventId) {
+        IndexedEvent indexed = events.remove(eventId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            Map<String, Float> postings = terms.get(term);
+            if (postings != null && postings.remove(eventId) != null && postings.isEmpty()) {
+                terms.remove(term);
+            }
+        }
+        for (String gram : indexed.trigrams()) {
+            Set<String> ids = trigrams.get(gram);
+            if (ids != null && ids.remove(eventId) && ids.isEmpty()) {
+                trigrams.remove(gram);
+            }
+        }
+    }
+
+    // Lower case with accents stripped, so "Café" and "cafe" match
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static Set<String> trigramsOf(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    private record IndexedEvent(Event event, String name, String location) {
+        Set<String> terms() {
+            Set<String> all = new HashSet<>(tokenize(name));
+            all.addAll(tokenize(location));
+            return all;
+        }
+
+        Set<String> trigrams() {
+            Set<String> all = trigramsOf(name);
+            all.addAll(trigramsOf(location));
+            return all;
+        }
+    }
+
+    private record ScoredEvent(Event event, float score) {
+    }
+}
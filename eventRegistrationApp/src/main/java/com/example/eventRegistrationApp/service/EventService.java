@@ -1,26 +1,87 @@
 package com.example.eventRegistrationApp.service;
 
+import com.example.eventRegistrationApp.entity.CursorPage;
 import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.LocationFacet;
 import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.utils.LocationNormalizer;
+import io.micrometer.core.annotation.Timed;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
+import org.springframework.data.mongodb.core.query.Collation;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.99}, histogram = true)
 public class EventService {
     @Autowired
     private EventRepository eventRepository;
 
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private RegistrationSnapshotService registrationSnapshotService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private LocationFacetIndex locationFacetIndex;
+
+    @Autowired
+    private EventCatalogSnapshot eventCatalogSnapshot;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private RegistrationsService registrationsService;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
     public List<Event> getAllEvents(){
         return eventRepository.findAll();
     }
 
+    // Serialized event list, rebuilt only after events change
+    public EventCatalogSnapshot.Catalog getEventCatalog() {
+        return eventCatalogSnapshot.get();
+    }
+
+    // Events ordered by date, one page at a time
+    public CursorPage<Event> getEventsPage(String cursor, Integer size) {
+        return keysetPager.byDate("date", cursor, size, Event.class, Event::getDate, Event::getId);
+    }
+
     public Event createEvent(Event event){
-        return eventRepository.save(event);
+        event.setLocation(LocationNormalizer.normalize(event.getLocation()));
+        Event saved = eventRepository.save(event);
+        eventCatalogSnapshot.invalidate();
+        seatReservationService.initialise(saved);
+        eventSearchIndex.index(saved);
+        locationFacetIndex.index(saved);
+        return saved;
     }
 
     public boolean deleteEvent(String id) {
@@ -28,6 +89,13 @@ public class EventService {
             ObjectId objectId = new ObjectId(id);
             if (eventRepository.existsById(objectId)) {
                 eventRepository.deleteById(objectId);
+                eventCatalogSnapshot.invalidate();
+                entityCache.evictEvent(id);
+                seatReservationService.drop(id);
+                waitlistService.dropEvent(id);
+                liveUpdateHub.eventClosed(id);
+                eventSearchIndex.remove(id);
+                locationFacetIndex.remove(id);
                 return true;
             } else {
                 return false;
@@ -45,11 +113,24 @@ public class EventService {
             Optional<Event> optionalEvent = eventRepository.findById(objectId);
             if (optionalEvent.isPresent()) {
                 Event eventInDB = optionalEvent.get();
+                Integer previousCapacity = eventInDB.getMaxParticipants();
                 eventInDB.setEventName(updatedEvent.getEventName());
-                eventInDB.setLocation(updatedEvent.getLocation());
+                eventInDB.setLocation(LocationNormalizer.normalize(updatedEvent.getLocation()));
                 eventInDB.setDate(updatedEvent.getDate());
                 eventInDB.setMaxParticipants(updatedEvent.getMaxParticipants());
-                return eventRepository.save(eventInDB);
+                Event saved = eventRepository.save(eventInDB);
+                eventCatalogSnapshot.invalidate();
+                entityCache.evictEvent(saved.getId());
+                registrationSnapshotService.refreshEvent(saved);
+                eventSearchIndex.index(saved);
+                locationFacetIndex.index(saved);
+                if (!Objects.equals(previousCapacity, saved.getMaxParticipants())) {
+                    seatReservationService.capacityChanged(saved, previousCapacity);
+                    // Extra seats go to the waitlist first
+                    registrationsService.promoteFromWaitlist(saved.getId());
+                    liveUpdateHub.seatsChanged(saved.getId());
+                }
+                return saved;
             } else {
                 return null;
             }
@@ -59,10 +140,31 @@ public class EventService {
         }
     }
     public List<Event> getEventsByLocation(String location) {
-        return eventRepository.findByLocationIgnoreCase(location);
+        return eventRepository.findByLocationIgnoreCase(LocationNormalizer.normalize(location));
+    }
+
+    // Event counts per location, most used first
+    public List<LocationFacet> getLocationFacets() {
+        if (locationFacetIndex.isReady()) {
+            return locationFacetIndex.facets();
+        }
+        // Facet map disabled or still loading: group under the location index's collation
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(where("location").ne(null)),
+                Aggregation.group("location").count().as("count"),
+                Aggregation.project("count").and("_id").as("location").andExclude("_id"),
+                Aggregation.sort(Sort.by(Sort.Direction.DESC, "count").and(Sort.by(Sort.Direction.ASC, "location")))
+        ).withOptions(AggregationOptions.builder()
+                .collation(Collation.of("en").strength(Collation.ComparisonLevel.secondary()))
+                .build());
+        return mongoTemplate.aggregate(aggregation, Event.class, LocationFacet.class).getMappedResults();
     }
 
     public List<Event> searchEvents(String query) {
+        if (eventSearchIndex.isReady()) {
+            return eventSearchIndex.search(query);
+        }
+        // Index still loading after startup
         return eventRepository.findByEventNameContainingIgnoreCaseOrLocationContainingIgnoreCase(query, query);
     }
 
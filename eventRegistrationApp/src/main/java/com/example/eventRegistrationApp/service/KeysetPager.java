@@ -0,0 +1,95 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.CursorPage;
+import com.example.eventRegistrationApp.utils.CursorCodec;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Keyset pagination: each page starts strictly after the sort key of the previous page's
+// last item, so every page is an index range scan no matter how deep the client goes.
+@Component
+public class KeysetPager {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${app.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:500}")
+    private int maxSize;
+
+    // Pages ordered by _id
+    public <T> CursorPage<T> byId(Criteria filter, String cursor, Integer size, Class<T> type, Function<T, String> idOf) {
+        int limit = pageSize(size);
+        Criteria criteria = filter != null ? filter : new Criteria();
+        if (cursor != null) {
+            criteria = new Criteria().andOperator(criteria, where("_id").gt(CursorCodec.decodeId(cursor)));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .limit(limit + 1);
+        List<T> items = mongoTemplate.find(query, type);
+
+        return toPage(items, limit, last -> CursorCodec.encode(new ObjectId(idOf.apply(last))));
+    }
+
+    // Pages ordered by a date field, with _id breaking ties between equal dates. Items without a
+    // date sort first, as Mongo orders null and missing values before any date.
+    public <T> CursorPage<T> byDate(String dateField, String cursor, Integer size, Class<T> type,
+                                    Function<T, LocalDateTime> dateOf, Function<T, String> idOf) {
+        int limit = pageSize(size);
+        Criteria criteria = new Criteria();
+        if (cursor != null) {
+            CursorCodec.DatedCursor after = CursorCodec.decodeDated(cursor);
+            if (after.date() == null) {
+                // The rest of the dateless items, then every dated one
+                criteria = new Criteria().orOperator(
+                        where(dateField).is(null).and("_id").gt(after.id()),
+                        where(dateField).ne(null)
+                );
+            } else {
+                criteria = new Criteria().orOperator(
+                        where(dateField).gt(after.date()),
+                        where(dateField).is(after.date()).and("_id").gt(after.id())
+                );
+            }
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, dateField).and(Sort.by(Sort.Direction.ASC, "_id")))
+                .limit(limit + 1);
+        List<T> items = mongoTemplate.find(query, type);
+
+        return toPage(items, limit, last -> CursorCodec.encode(dateOf.apply(last), new ObjectId(idOf.apply(last))));
+    }
+
+    private int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    // One extra row is fetched to learn whether another page exists without a count query
+    private static <T> CursorPage<T> toPage(List<T> items, int limit, Function<T, String> cursorOf) {
+        if (items.size() <= limit) {
+            return new CursorPage<>(items, null);
+        }
+        List<T> page = items.subList(0, limit);
+        return new CursorPage<>(page, cursorOf.apply(page.get(limit - 1)));
+    }
+}
@@ -0,0 +1,377 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.RegistrationUpdate;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.SeatAvailability;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Server-Sent Event streams of seat availability per event and registration status per user.
+// Changes only mark a topic dirty; every flush-interval each dirty topic is read once and
+// queued to all of its subscribers, so a burst of registrations costs one seat count per event
+// rather than one per registration and subscriber. Open streams hold no request thread.
+// Publishing never writes to a socket: each subscriber has a small outbox drained by the sender
+// pool, and a subscriber whose outbox overflows or whose write has stalled is dropped, so one
+// slow client can't hold up the others. EventSource reconnects dropped clients on its own.
+@Slf4j
+@Service
+public class LiveUpdateHub implements MeterBinder {
+
+    private static final String EVENT_TOPIC = "event:";
+    private static final String USER_TOPIC = "user:";
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.live.flush-interval:250ms}")
+    private Duration flushInterval;
+
+    @Value("${app.live.heartbeat:20s}")
+    private Duration heartbeat;
+
+    // Picks up seats taken or freed through other nodes
+    @Value("${app.live.seat-refresh:10s}")
+    private Duration seatRefresh;
+
+    @Value("${app.live.timeout:30m}")
+    private Duration streamTimeout;
+
+    // Messages a subscriber may fall behind by before it is dropped
+    @Value("${app.live.outbox-size:16}")
+    private int outboxSize;
+
+    // A single write taking longer than this drops the subscriber
+    @Value("${app.live.stall-timeout:10s}")
+    private Duration stallTimeout;
+
+    @Value("${app.live.sender-threads:16}")
+    private int senderThreads;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger streams = new AtomicInteger();
+    private Counter dropped;
+
+    // Events whose seat count needs sending, and per user the latest change of each registration
+    private final Set<String> dirtyEvents = ConcurrentHashMap.newKeySet();
+    private final Map<String, Map<String, RegistrationUpdate>> pendingUpdates = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, daemon("live-updates"));
+    private ExecutorService senders;
+
+    @PostConstruct
+    public void start() {
+        senders = Executors.newFixedThreadPool(senderThreads, daemon("live-updates-send"));
+        scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::refreshSeats, seatRefresh.toMillis(), seatRefresh.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    // Sends the current availability straight away, then whenever it changes
+    public SseEmitter subscribeSeats(String eventId) {
+        Event event = entityCache.findEvent(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        Subscriber subscriber = subscribe(EVENT_TOPIC + eventId);
+        subscriber.offer(new Message("seats", json(availability(event))));
+        return subscriber.emitter;
+    }
+
+    public SseEmitter subscribeRegistrations(String email) {
+        return subscribe(USER_TOPIC + email).emitter;
+    }
+
+    public void seatsChanged(String eventId) {
+        if (eventId != null && topics.containsKey(EVENT_TOPIC + eventId)) {
+            dirtyEvents.add(eventId);
+        }
+    }
+
+    public void registrationChanged(Registrations registration) {
+        registrationChanged(registration, registration.getStatus(), false);
+    }
+
+    public void registrationCancelled(Registrations registration) {
+        registrationChanged(registration, registration.getStatus(), true);
+    }
+
+    public void registrationChanged(Registrations registration, Registrations.Status status, boolean cancelled) {
+        seatsChanged(registration.getEventId());
+        String email = registration.getUser() != null ? registration.getUser().getEmail() : null;
+        if (email == null || !topics.containsKey(USER_TOPIC + email)) {
+            return;
+        }
+        RegistrationUpdate update = new RegistrationUpdate(registration.getId(), registration.getEventId(), status, cancelled);
+        // compute() keeps this atomic with the flusher's remove(), so no update lands in a drained map
+        pendingUpdates.compute(email, (key, updates) -> {
+            Map<String, RegistrationUpdate> latest = updates != null ? updates : new LinkedHashMap<>();
+            latest.put(update.getRegistrationId(), update);
+            return latest;
+        });
+    }
+
+    // The event is gone; its streams are ended
+    public void eventClosed(String eventId) {
+        Set<Subscriber> subscribers = topics.get(EVENT_TOPIC + eventId);
+        if (subscribers != null) {
+            subscribers.forEach(Subscriber::close);
+        }
+        dirtyEvents.remove(eventId);
+    }
+
+    public int streamCount() {
+        return streams.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.live.streams", this, LiveUpdateHub::streamCount)
+                .description("Open live update streams")
+                .register(registry);
+        dropped = Counter.builder("app.live.dropped")
+                .description("Live update streams dropped for falling behind")
+                .register(registry);
+    }
+
+    private Subscriber subscribe(String topic) {
+        Subscriber subscriber = new Subscriber(topic, new SseEmitter(streamTimeout.toMillis()), outboxSize);
+        // Added inside compute() so it can't race unsubscribe() dropping an emptied topic
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> current = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+        streams.incrementAndGet();
+        subscriber.emitter.onCompletion(() -> unsubscribe(subscriber));
+        subscriber.emitter.onTimeout(() -> unsubscribe(subscriber));
+        subscriber.emitter.onError(e -> unsubscribe(subscriber));
+        return subscriber;
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscriber.closed = true;
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            if (subscribers.remove(subscriber)) {
+                streams.decrementAndGet();
+            }
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+    }
+
+    private void flush() {
+        try {
+            for (String eventId : new ArrayList<>(dirtyEvents)) {
+                dirtyEvents.remove(eventId);
+                entityCache.findEvent(eventId)
+                        .ifPresent(event -> publish(EVENT_TOPIC + eventId, new Message("seats", json(availability(event)))));
+            }
+            for (String email : new ArrayList<>(pendingUpdates.keySet())) {
+                Map<String, RegistrationUpdate> updates = pendingUpdates.remove(email);
+                if (updates != null) {
+                    for (RegistrationUpdate update : updates.values()) {
+                        publish(USER_TOPIC + email, new Message("registration", json(update)));
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Live update flush failed: {}", e.getMessage());
+        }
+    }
+
+    // Keeps idle streams from being closed by proxies, finds clients that went away and drops
+    // the ones stuck in a write
+    private void heartbeat() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long since = subscriber.sendingSince;
+                if (since != 0 && now - since > stallTimeout.toNanos()) {
+                    drop(subscriber);
+                } else {
+                    subscriber.offer(Message.PING);
+                }
+            }
+        }
+    }
+
+    private void refreshSeats() {
+        for (String topic : topics.keySet()) {
+            if (topic.startsWith(EVENT_TOPIC)) {
+                dirtyEvents.add(topic.substring(EVENT_TOPIC.length()));
+            }
+        }
+    }
+
+    private SeatAvailability availability(Event event) {
+        return new SeatAvailability(event.getId(), event.getMaxParticipants(), seatReservationService.remainingSeats(event));
+    }
+
+    // Serialised once per message, however many subscribers it goes to
+    private void publish(String topic, Message message) {
+        Set<Subscriber> subscribers = topics.get(topic);
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(message);
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (!subscriber.closed) {
+            if (dropped != null) {
+                dropped.increment();
+            }
+            subscriber.close();
+        }
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // name null for a heartbeat comment
+    private record Message(String name, String data) {
+        static final Message PING = new Message(null, "ping");
+
+        SseEmitter.SseEventBuilder toEvent() {
+            return name == null
+                    ? SseEmitter.event().comment(data)
+                    : SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    // One stream. At most one sender drains it at a time, so its messages go out in order.
+    private class Subscriber {
+        private final String topic;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Message> outbox;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        // When the write in progress started; 0 when idle
+        private volatile long sendingSince;
+
+        Subscriber(String topic, SseEmitter emitter, int outboxSize) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.outbox = new ArrayBlockingQueue<>(outboxSize);
+        }
+
+        void offer(Message message) {
+            if (closed) {
+                return;
+            }
+            if (!outbox.offer(message)) {
+                drop(this);
+                return;
+            }
+            schedule();
+        }
+
+        // Stops taking messages; the emitter is completed by a sender, never by the publisher,
+        // since completing waits for a write that may be stuck
+        void close() {
+            unsubscribe(this);
+            outbox.clear();
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                if (closed) {
+                    complete();
+                    return;
+                }
+                Message message = outbox.poll();
+                if (message == null) {
+                    draining.set(false);
+                    // A message offered after the poll but before the flag was cleared
+                    if ((outbox.isEmpty() && !closed) || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                sendingSince = System.nanoTime();
+                try {
+                    emitter.send(message.toEvent());
+                } catch (Exception e) {
+                    unsubscribe(this);
+                } finally {
+                    sendingSince = 0;
+                }
+            }
+        }
+
+        private void complete() {
+            draining.set(false);
+            try {
+                emitter.complete();
+            } catch (RuntimeException e) {
+                // Already completed or the connection is gone
+            }
+        }
+    }
+}
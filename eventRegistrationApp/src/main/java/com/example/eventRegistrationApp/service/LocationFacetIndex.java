@@ -0,0 +1,157 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.config.StartupTasks;
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.LocationFacet;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.utils.LocationNormalizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Location -> event ids, kept in memory so the filter sidebar can show per-location counts
+// without an aggregation per request. Locations are grouped case-insensitively.
+@Slf4j
+@Component
+public class LocationFacetIndex {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private StartupTasks startupTasks;
+
+    @Value("${app.events.location-facets.enabled:true}")
+    private boolean enabled;
+
+    private final Map<String, Facet> byKey = new HashMap<>();
+    private final Map<String, String> keyByEventId = new HashMap<>();
+
+    // Changes made while a rebuild reads the collection, replayed over what it read so an event
+    // created or deleted meanwhile isn't lost until the next refresh. A null value is a removal.
+    // Null when no rebuild is running.
+    private Map<String, Event> changedDuringRebuild;
+    private final Object rebuilding = new Object();
+
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        startupTasks.run("location-facets", this::rebuild);
+    }
+
+    // Picks up changes made through other application instances
+    @Scheduled(initialDelayString = "${app.events.location-facets.refresh-interval:5m}",
+            fixedDelayString = "${app.events.location-facets.refresh-interval:5m}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (rebuilding) {
+            synchronized (this) {
+                changedDuringRebuild = new HashMap<>();
+            }
+            try {
+                List<Event> all = eventRepository.findAll();
+                synchronized (this) {
+                    byKey.clear();
+                    keyByEventId.clear();
+                    all.forEach(this::add);
+                    changedDuringRebuild.forEach((eventId, event) -> {
+                        unindex(eventId);
+                        if (event != null) {
+                            add(event);
+                        }
+                    });
+                }
+                ready = true;
+            } catch (Exception e) {
+                log.warn("Could not build the location facets: {}", e.getMessage());
+            } finally {
+                synchronized (this) {
+                    changedDuringRebuild = null;
+                }
+            }
+        }
+    }
+
+    public synchronized void index(Event event) {
+        if (!enabled) {
+            return;
+        }
+        unindex(event.getId());
+        add(event);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(event.getId(), event);
+        }
+    }
+
+    public synchronized void remove(String eventId) {
+        unindex(eventId);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.put(eventId, null);
+        }
+    }
+
+    private void unindex(String eventId) {
+        String key = keyByEventId.remove(eventId);
+        if (key == null) {
+            return;
+        }
+        Facet facet = byKey.get(key);
+        facet.eventIds.remove(eventId);
+        if (facet.eventIds.isEmpty()) {
+            byKey.remove(key);
+        }
+    }
+
+    // Most used locations first
+    public synchronized List<LocationFacet> facets() {
+        List<LocationFacet> facets = new ArrayList<>(byKey.size());
+        for (Facet facet : byKey.values()) {
+            facets.add(new LocationFacet(facet.display, facet.eventIds.size()));
+        }
+        facets.sort(Comparator.comparingLong(LocationFacet::getCount).reversed().thenComparing(LocationFacet::getLocation));
+        return facets;
+    }
+
+    public synchronized Set<String> eventIds(String location) {
+        Facet facet = byKey.get(LocationNormalizer.key(location));
+        return facet != null ? new HashSet<>(facet.eventIds) : Set.of();
+    }
+
+    private void add(Event event) {
+        String key = LocationNormalizer.key(event.getLocation());
+        if (event.getId() == null || key == null || key.isEmpty()) {
+            return;
+        }
+        byKey.computeIfAbsent(key, k -> new Facet(LocationNormalizer.normalize(event.getLocation()))).eventIds.add(event.getId());
+        keyByEventId.put(event.getId(), key);
+    }
+
+    private static class Facet {
+        // Spelling of the first event seen at this location
+        private final String display;
+        private final Set<String> eventIds = new HashSet<>();
+
+        Facet(String display) {
+            this.display = display;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.RegistrationStatsBucket;
+import com.example.eventRegistrationApp.entity.RegistrationStatsBucket.Granularity;
+import com.example.eventRegistrationApp.entity.RegistrationTrendPoint;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.mongodb.client.MongoCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.Pair;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Keeps hourly and daily registration counts per event (and across all events) up to date as
+// registrations change, so chart queries read a bounded number of small bucket documents
+// instead of scanning the registrations collection. Buckets are in UTC.
+@Slf4j
+@Service
+public class RegistrationAnalyticsService {
+
+    private static final DateTimeFormatter HOUR_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC);
+    private static final DateTimeFormatter DAY_KEY = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public void recordCreated(Registrations registration) {
+        Changes changes = new Changes();
+        changes.created(registration);
+        apply(changes);
+    }
+
+    public void recordStatusChange(Registrations registration, Registrations.Status from, Registrations.Status to) {
+        Changes changes = new Changes();
+        changes.statusChanged(registration, from, to);
+        apply(changes);
+    }
+
+    public void recordCancelled(Registrations registration) {
+        Changes changes = new Changes();
+        changes.cancelled(registration);
+        apply(changes);
+    }
+
+    // Writes a set of coalesced changes as one unordered bulk of upserts
+    public void apply(Changes changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RegistrationStatsBucket.class)
+                    .upsert(changes.toUpserts())
+                    .execute();
+        } catch (RuntimeException e) {
+            // Counters must never fail a registration; rebuild() restores them from the source data
+            log.warn("Could not update registration stats: {}", e.getMessage());
+        }
+    }
+
+    // timeframe: daily (24 hours), weekly (7 days), monthly (4 weeks) or yearly (12 months)
+    public List<RegistrationTrendPoint> trend(String timeframe, String eventId) {
+        String eventKey = eventId != null ? eventId : RegistrationStatsBucket.ALL_EVENTS;
+        Instant now = Instant.now();
+        LocalDate today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+
+        // Each period is a label plus the buckets it sums up
+        Map<String, List<String>> periods = new LinkedHashMap<>();
+        switch (timeframe.toLowerCase(Locale.ROOT)) {
+            case "daily" -> {
+                Instant hour = now.truncatedTo(ChronoUnit.HOURS);
+                for (int i = 23; i >= 0; i--) {
+                    Instant start = hour.minus(i, ChronoUnit.HOURS);
+                    String label = LocalDateTime.ofInstant(start, ZoneOffset.UTC).getHour() + ":00";
+                    periods.put(label, List.of(bucketId(Granularity.HOUR, start, eventKey)));
+                }
+            }
+            case "weekly" -> {
+                for (int i = 6; i >= 0; i--) {
+                    LocalDate day = today.minusDays(i);
+                    periods.put(dayName(day.getDayOfWeek()), List.of(dayBucketId(day, eventKey)));
+                }
+            }
+            case "monthly" -> {
+                for (int week = 0; week < 4; week++) {
+                    List<String> ids = new ArrayList<>();
+                    for (int d = 0; d < 7; d++) {
+                        ids.add(dayBucketId(today.minusDays(27 - week * 7L - d), eventKey));
+                    }
+                    periods.put("Week " + (week + 1), ids);
+                }
+            }
+            case "yearly" -> {
+                YearMonth current = YearMonth.from(today);
+                for (int i = 11; i >= 0; i--) {
+                    YearMonth month = current.minusMonths(i);
+                    List<String> ids = new ArrayList<>();
+                    for (LocalDate day = month.atDay(1); !day.isAfter(month.atEndOfMonth()) && !day.isAfter(today); day = day.plusDays(1)) {
+                        ids.add(dayBucketId(day, eventKey));
+                    }
+                    periods.put(month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH), ids);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown timeframe: " + timeframe);
+        }
+
+        List<String> allIds = periods.values().stream().flatMap(List::stream).toList();
+        Map<String, RegistrationStatsBucket> buckets = new HashMap<>();
+        mongoTemplate.find(new Query(where("_id").in(allIds)), RegistrationStatsBucket.class)
+                .forEach(bucket -> buckets.put(bucket.getId(), bucket));
+
+        List<RegistrationTrendPoint> points = new ArrayList<>(periods.size());
+        periods.forEach((label, ids) -> {
+            RegistrationTrendPoint point = new RegistrationTrendPoint(label, 0, 0, 0, 0, 0);
+            for (String id : ids) {
+                RegistrationStatsBucket bucket = buckets.get(id);
+                if (bucket != null) {
+                    point.setRegistrations(point.getRegistrations() + bucket.getCreated());
+                    point.setPending(point.getPending() + bucket.statusCount(Registrations.Status.PENDING));
+                    point.setApproved(point.getApproved() + bucket.statusCount(Registrations.Status.APPROVED));
+                    point.setRejected(point.getRejected() + bucket.statusCount(Registrations.Status.REJECTED));
+                    point.setCancelled(point.getCancelled() + bucket.getCancelled());
+                }
+            }
+            points.add(point);
+        });
+        return points;
+    }
+
+    // Recomputes every bucket from the registrations collection with aggregation pipelines and
+    // writes the counts with $set upserts, so live counter upserts never collide with it; a change
+    // made while it runs may be counted as of the aggregation. Cancelled counts cannot be recovered
+    // (cancelled registrations are deleted) and are left as they are. Needs MongoDB 4.0+.
+    public long rebuild() {
+        String run = new ObjectId().toHexString();
+        Instant today = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        long written = 0;
+        for (Granularity granularity : Granularity.values()) {
+            written += rebuild(granularity, true, run);
+            written += rebuild(granularity, false, run);
+        }
+        // Older buckets this run did not write have no registrations left; today's are left to the live counters
+        mongoTemplate.updateMulti(
+                new Query(where("rebuildRun").ne(run).and("bucketStart").lt(today)),
+                new Update().set("created", 0L).set("statuses", new Document()),
+                RegistrationStatsBucket.class
+        );
+        return written;
+    }
+
+    private long rebuild(Granularity granularity, boolean perEvent, String run) {
+        // Truncated with $dateFromParts (UTC) rather than $dateTrunc, which needs MongoDB 5.0
+        Document date = new Document("$toDate", "$_id");
+        Document parts = new Document("year", new Document("$year", date))
+                .append("month", new Document("$month", date))
+                .append("day", new Document("$dayOfMonth", date));
+        if (granularity == Granularity.HOUR) {
+            parts.append("hour", new Document("$hour", date));
+        }
+        Document groupKey = new Document("start", new Document("$dateFromParts", parts))
+                .append("status", new Document("$ifNull", List.of("$status", Registrations.Status.PENDING.name())));
+        Document bucketKey = new Document("start", "$_id.start");
+        if (perEvent) {
+            groupKey.append("eventId", "$eventId");
+            bucketKey.append("eventId", "$_id.eventId");
+        }
+
+        List<Document> pipeline = List.of(
+                new Document("$group", new Document("_id", groupKey).append("count", new Document("$sum", 1))),
+                new Document("$group", new Document("_id", bucketKey)
+                        .append("created", new Document("$sum", "$count"))
+                        .append("statuses", new Document("$push", new Document("k", "$_id.status").append("v", "$count"))))
+        );
+
+        long written = 0;
+        List<Pair<Query, Update>> batch = new ArrayList<>();
+        String collection = mongoTemplate.getCollectionName(Registrations.class);
+        try (MongoCursor<Document> cursor = mongoTemplate.getCollection(collection).aggregate(pipeline).allowDiskUse(true).iterator()) {
+            while (cursor.hasNext()) {
+                Document row = cursor.next();
+                Document key = row.get("_id", Document.class);
+                Instant start = key.getDate("start").toInstant();
+                Object event = key.get("eventId");
+                String eventKey = !perEvent ? RegistrationStatsBucket.ALL_EVENTS
+                        : event instanceof ObjectId id ? id.toHexString() : String.valueOf(event);
+
+                Map<String, Long> statuses = new HashMap<>();
+                for (Document status : row.getList("statuses", Document.class)) {
+                    statuses.put(status.getString("k"), ((Number) status.get("v")).longValue());
+                }
+                Update update = new Update()
+                        .set("granularity", granularity)
+                        .set("bucketStart", start)
+                        .set("eventId", eventKey)
+                        .set("created", ((Number) row.get("created")).longValue())
+                        .set("statuses", statuses)
+                        .set("rebuildRun", run)
+                        .setOnInsert("cancelled", 0L);
+                batch.add(Pair.of(new Query(where("_id").is(bucketId(granularity, start, eventKey))), update));
+
+                if (batch.size() == 1000) {
+                    written += upsert(batch);
+                }
+            }
+        }
+        written += upsert(batch);
+        return written;
+    }
+
+    private long upsert(List<Pair<Query, Update>> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, RegistrationStatsBucket.class)
+                .upsert(batch)
+                .execute();
+        int written = batch.size();
+        batch.clear();
+        return written;
+    }
+
+    private static String bucketId(Granularity granularity, Instant start, String eventKey) {
+        String time = granularity == Granularity.HOUR ? HOUR_KEY.format(start) : DAY_KEY.format(start);
+        return granularity.name().charAt(0) + "|" + time + "|" + eventKey;
+    }
+
+    private static String dayBucketId(LocalDate day, String eventKey) {
+        return bucketId(Granularity.DAY, day.atStartOfDay(ZoneOffset.UTC).toInstant(), eventKey);
+    }
+
+    private static String dayName(DayOfWeek day) {
+        return day.getDisplayName(TextStyle.SHORT, Locale.ENGLISH);
+    }
+
+    // Counter increments grouped per bucket, so a batch of changes costs one upsert per bucket touched
+    public static class Changes {
+        private final Map<String, BucketDelta> buckets = new HashMap<>();
+
+        public void created(Registrations registration) {
+            add(registration, "created", 1);
+            add(registration, statusField(registration.getStatus()), 1);
+        }
+
+        public void statusChanged(Registrations registration, Registrations.Status from, Registrations.Status to) {
+            if (from == to) {
+                return;
+            }
+            add(registration, statusField(from), -1);
+            add(registration, statusField(to), 1);
+        }
+
+        public void cancelled(Registrations registration) {
+            add(registration, "cancelled", 1);
+            add(registration, statusField(registration.getStatus()), -1);
+        }
+
+        public boolean isEmpty() {
+            return buckets.isEmpty();
+        }
+
+        // One upsert per bucket touched
+        public List<Pair<Query, Update>> toUpserts() {
+            List<Pair<Query, Update>> upserts = new ArrayList<>(buckets.size());
+            for (BucketDelta delta : buckets.values()) {
+                Update update = new Update()
+                        .setOnInsert("granularity", delta.granularity)
+                        .setOnInsert("bucketStart", delta.bucketStart)
+                        .setOnInsert("eventId", delta.eventId);
+                delta.increments.forEach(update::inc);
+                upserts.add(Pair.of(new Query(where("_id").is(delta.id)), update));
+            }
+            return upserts;
+        }
+
+        private void add(Registrations registration, String field, long delta) {
+            if (registration.getId() == null) {
+                return;
+            }
+            Instant created = new ObjectId(registration.getId()).getDate().toInstant();
+            Instant hour = created.truncatedTo(ChronoUnit.HOURS);
+            Instant day = created.truncatedTo(ChronoUnit.DAYS);
+            List<String> eventKeys = registration.getEventId() != null
+                    ? List.of(registration.getEventId(), RegistrationStatsBucket.ALL_EVENTS)
+                    : List.of(RegistrationStatsBucket.ALL_EVENTS);
+
+            for (String eventKey : eventKeys) {
+                bucket(Granularity.HOUR, hour, eventKey).increments.merge(field, delta, Long::sum);
+                bucket(Granularity.DAY, day, eventKey).increments.merge(field, delta, Long::sum);
+            }
+        }
+
+        private BucketDelta bucket(Granularity granularity, Instant start, String eventKey) {
+            String id = bucketId(granularity, start, eventKey);
+            return buckets.computeIfAbsent(id, key -> new BucketDelta(key, granularity, start, eventKey));
+        }
+
+        private static String statusField(Registrations.Status status) {
+            return "statuses." + (status != null ? status : Registrations.Status.PENDING).name();
+        }
+    }
+
+    private static class BucketDelta {
+        private final String id;
+        private final Granularity granularity;
+        private final Instant bucketStart;
+        private final String eventId;
+        private final Map<String, Long> increments = new HashMap<>();
+
+        BucketDelta(String id, Granularity granularity, Instant bucketStart, String eventId) {
+            this.id = id;
+            this.granularity = granularity;
+            this.bucketStart = bucketStart;
+            this.eventId = eventId;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.EventSnapshot;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.UserSnapshot;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.annotation.PreDestroy;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Writes registrations straight from a Mongo cursor to an output stream, one row at a time,
+// so memory use does not grow with the number of registrations exported.
+// Exports run on their own small pool with their own timeout, so a few long downloads
+// can't use up the shared async executor or stretch the timeout of every other request.
+@Service
+public class RegistrationExportService {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    private static final String CSV_HEADER = "registrationId,status,eventId,eventName,eventDate,location,userId,firstName,lastName,email";
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    private final ThreadPoolExecutor executor;
+    // Taken on submission and given back when the export finishes, even past its timeout. The
+    // pool can hold twice as many exports as there are slots (threads plus queue), so a worker
+    // that has released its slot but not yet picked up new work never causes a rejection.
+    private final Semaphore slots;
+    private final Duration timeout;
+
+    @Value("${app.export.cursor-batch-size:1000}")
+    private int cursorBatchSize;
+
+    // Rows written between flushes to the client
+    @Value("${app.export.flush-every:500}")
+    private int flushEvery;
+
+    public RegistrationExportService(MongoTemplate mongoTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${app.export.max-concurrent:2}") int maxConcurrent,
+                                     @Value("${app.export.timeout:30m}") Duration timeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.slots = new Semaphore(maxConcurrent);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxConcurrent),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "export-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // Runs an export on the export pool; empty when the configured number is already running
+    public <T> Optional<WebAsyncTask<T>> submit(Callable<T> export) {
+        if (!slots.tryAcquire()) {
+            return Optional.empty();
+        }
+        // A rejection (only possible once the pool is shut down) must not keep the slot either
+        Executor admitted = task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                slots.release();
+                throw e;
+            }
+        };
+        return Optional.of(new WebAsyncTask<>(timeout.toMillis(), new TaskExecutorAdapter(admitted), () -> {
+            try {
+                return export.call();
+            } finally {
+                slots.release();
+            }
+        }));
+    }
+
+    // eventId and status are optional filters
+    public void export(Format format, String eventId, Registrations.Status status, OutputStream out) throws IOException {
+        Criteria criteria = new Criteria();
+        if (eventId != null) {
+            criteria = criteria.and("eventId").is(new ObjectId(eventId));
+        }
+        if (status != null) {
+            criteria = criteria.and("status").is(status);
+        }
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(cursorBatchSize);
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        try (Stream<Registrations> registrations = mongoTemplate.stream(query, Registrations.class)) {
+            if (format == Format.CSV) {
+                writeCsv(registrations.iterator(), writer);
+            } else {
+                writeNdjson(registrations.iterator(), writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<Registrations> registrations, Writer writer) throws IOException {
+        // Keep the writer open between rows; Jackson would otherwise close the stream after each value
+        ObjectWriter rowWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long rows = 0;
+        while (registrations.hasNext()) {
+            rowWriter.writeValue(writer, registrations.next());
+            writer.write('\n');
+            if (++rows % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<Registrations> registrations, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        long rows = 0;
+        while (registrations.hasNext()) {
+            Registrations registration = registrations.next();
+            EventSnapshot event = registration.getEvent();
+            UserSnapshot user = registration.getUser();
+            writeCsvRow(writer,
+                    registration.getId(),
+                    String.valueOf(registration.getStatus()),
+                    registration.getEventId(),
+                    event != null ? event.getEventName() : null,
+                    event != null && event.getDate() != null ? event.getDate().toString() : null,
+                    event != null ? event.getLocation() : null,
+                    registration.getUserId(),
+                    user != null ? user.getFirstName() : null,
+                    user != null ? user.getLastName() : null,
+                    user != null ? user.getEmail() : null
+            );
+            if (++rows % flushEvery == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, String... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write('\n');
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        // Spreadsheets run cells starting with these as formulas; a leading quote keeps them text
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.eventRegistrationApp.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Counts of registration outcomes, exported as app_registrations_total{outcome=...}
+@Component
+public class RegistrationMetrics {
+
+    private final Counter created;
+    private final Counter duplicate;
+    private final Counter full;
+    private final Counter rejected;
+    private final Counter queueFull;
+
+    public RegistrationMetrics(MeterRegistry registry) {
+        this.created = counter(registry, "created");
+        this.duplicate = counter(registry, "duplicate");
+        this.full = counter(registry, "full");
+        this.rejected = counter(registry, "rejected");
+        this.queueFull = counter(registry, "queue_full");
+    }
+
+    public void created() {
+        created.increment();
+    }
+
+    public void duplicate() {
+        duplicate.increment();
+    }
+
+    public void full() {
+        full.increment();
+    }
+
+    // Registrations moved to REJECTED by an admin
+    public void rejected(int count) {
+        rejected.increment(count);
+    }
+
+    // Refused by the write-behind queue before a seat was kept
+    public void queueFull() {
+        queueFull.increment();
+    }
+
+    private static Counter counter(MeterRegistry registry, String outcome) {
+        return Counter.builder("app.registrations")
+                .description("Registration requests by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSnapshot;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.UserSnapshot;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Resolves the users and events behind a batch of registrations with one $in query per
+// collection, and keeps the snapshots embedded in registrations in step with their sources.
+@Service
+public class RegistrationSnapshotService {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    // Keyed by user id (hex string)
+    public Map<String, User> loadUsers(Collection<Registrations> registrations) {
+        Set<ObjectId> ids = collectIds(registrations, Registrations::getUserId);
+        Map<String, User> users = new HashMap<>();
+        userRepository.findAllById(ids).forEach(user -> users.put(user.getId(), user));
+        return users;
+    }
+
+    // Keyed by event id (hex string)
+    public Map<String, Event> loadEvents(Collection<Registrations> registrations) {
+        Set<ObjectId> ids = collectIds(registrations, Registrations::getEventId);
+        Map<String, Event> events = new HashMap<>();
+        eventRepository.findAllById(ids).forEach(event -> events.put(event.getId(), event));
+        return events;
+    }
+
+    public void refreshEvent(Event event) {
+        mongoTemplate.updateMulti(
+                new Query(where("eventId").is(new ObjectId(event.getId()))),
+                new Update().set("event", EventSnapshot.from(event)),
+                Registrations.class
+        );
+    }
+
+    public void refreshUser(User user) {
+        if (user.getId() == null) {
+            return;
+        }
+        mongoTemplate.updateMulti(
+                new Query(where("userId").is(new ObjectId(user.getId()))),
+                new Update().set("user", UserSnapshot.from(user)),
+                Registrations.class
+        );
+    }
+
+    private static Set<ObjectId> collectIds(Collection<Registrations> registrations, Function<Registrations, String> id) {
+        return registrations.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .map(ObjectId::new)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
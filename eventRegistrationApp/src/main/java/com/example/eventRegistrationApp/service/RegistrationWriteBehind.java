@@ -0,0 +1,378 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.RegistrationTicket;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.exception.DuplicateRegistrationException;
+import com.example.eventRegistrationApp.exception.EventFullException;
+import com.example.eventRegistrationApp.exception.RegistrationQueueFullException;
+import com.example.eventRegistrationApp.repository.RegistrationsRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Optional ingestion path for registration surges. Requests are validated and given a seat up
+// front, then queued; one flusher thread writes them with unordered bulk inserts of up to
+// batch-size documents, or whatever arrived within flush-interval of the first. A full queue is
+// refused straight away rather than letting requests pile up behind Mongo.
+@Slf4j
+@Service
+public class RegistrationWriteBehind implements MeterBinder {
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private RegistrationsRepository registrationsRepository;
+
+    @Autowired
+    private RegistrationAnalyticsService registrationAnalyticsService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
+
+    @Autowired
+    private RegistrationsService registrationsService;
+
+    @Value("${app.registrations.write-behind.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.registrations.write-behind.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.registrations.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.registrations.write-behind.flush-interval:20ms}")
+    private Duration flushInterval;
+
+    // How long finished tickets stay available to status polls
+    @Value("${app.registrations.write-behind.ticket-ttl:10m}")
+    private Duration ticketTtl;
+
+    private BlockingQueue<Pending> queue;
+    private Cache<String, RegistrationTicket> tickets;
+    private Thread flusher;
+    private volatile boolean running;
+
+    // Held shared while a request is queued and exclusively to stop, so nothing is queued
+    // after the flusher has been told to finish
+    private final ReadWriteLock accepting = new ReentrantReadWriteLock();
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        tickets = Caffeine.newBuilder().expireAfterWrite(ticketTtl).build();
+        running = true;
+        flusher = new Thread(this::run, "registration-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    // Stops taking requests and writes out whatever is still queued
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (flusher == null) {
+            return;
+        }
+        accepting.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            accepting.writeLock().unlock();
+        }
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+
+        // Whatever the flusher did not get to in time is refused and its seat given back
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        for (Pending pending : left) {
+            fail(pending, new RegistrationQueueFullException("Registration queue is not accepting requests"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int queueDepth() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("app.registrations.write.behind.queue", this, RegistrationWriteBehind::queueDepth)
+                .description("Registrations waiting to be written")
+                .register(registry);
+    }
+
+    // Same checks as RegistrationsService.createRegistration, except that the insert (and so the
+    // duplicate check) happens later. The future completes with the stored registration.
+    public Accepted submit(String userEmail, String eventId, String idempotencyKey) {
+        if (!running) {
+            throw new RegistrationQueueFullException("Registration queue is not accepting requests");
+        }
+        User user = entityCache.findUserByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        Event event = entityCache.findEvent(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+
+        Registrations existing = registrationsService.findUnindexedDuplicate(user, event);
+        if (existing != null) {
+            if (idempotencyKey != null && idempotencyKey.equals(existing.getIdempotencyKey())) {
+                RegistrationTicket ticket = confirmed(new RegistrationTicket(existing.getId(), eventId, userEmail), existing);
+                tickets.put(ticket.getId(), ticket);
+                return new Accepted(ticket, CompletableFuture.completedFuture(existing));
+            }
+            registrationMetrics.duplicate();
+            throw new DuplicateRegistrationException("Already registered for this event");
+        }
+
+        if (!seatReservationService.reserve(event)) {
+            Registrations original = findReplay(user, event, idempotencyKey);
+            if (original != null) {
+                RegistrationTicket ticket = confirmed(new RegistrationTicket(original.getId(), eventId, userEmail), original);
+                tickets.put(ticket.getId(), ticket);
+                return new Accepted(ticket, CompletableFuture.completedFuture(original));
+            }
+            registrationMetrics.full();
+            throw new EventFullException("Event is full");
+        }
+
+        Registrations registration = Registrations.of(user, event);
+        registration.setId(new ObjectId());
+        registration.setIdempotencyKey(idempotencyKey);
+        RegistrationTicket ticket = new RegistrationTicket(registration.getId(), eventId, userEmail);
+        Pending pending = new Pending(registration, user, event, ticket, new CompletableFuture<>());
+
+        // The ticket goes in first: once queued, the flusher may finish it at any moment
+        tickets.put(ticket.getId(), ticket);
+        boolean queued;
+        accepting.readLock().lock();
+        try {
+            queued = running && queue.offer(pending);
+        } finally {
+            accepting.readLock().unlock();
+        }
+        if (!queued) {
+            tickets.invalidate(ticket.getId());
+            seatReservationService.release(eventId, 1);
+            registrationMetrics.queueFull();
+            throw new RegistrationQueueFullException("Too many registrations in flight, please retry");
+        }
+        return new Accepted(ticket, pending.future());
+    }
+
+    // Only the user who submitted the registration can see its ticket
+    public Optional<RegistrationTicket> ticket(String ticketId, String userEmail) {
+        if (tickets == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(tickets.getIfPresent(ticketId))
+                .filter(ticket -> ticket.getEmail().equals(userEmail));
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(flushInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {
+                log.warn("Registration write-behind flush failed: {}", e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Tops the batch up until it is full or flush-interval has passed since the first request
+    private void fill(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Registrations.class);
+        bulk.insert(batch.stream().map(Pending::registration).toList());
+
+        Map<Integer, BulkWriteError> errors = new HashMap<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            for (BulkWriteError error : e.getErrors()) {
+                errors.put(error.getIndex(), error);
+            }
+        } catch (RuntimeException e) {
+            // E.g. a timeout: some inserts may have landed. The ids were assigned up front, so
+            // look them up and refuse only the ones that are missing.
+            log.warn("Registration batch write failed, checking what was written: {}", e.getMessage());
+            Set<String> written;
+            try {
+                written = writtenIds(batch);
+            } catch (RuntimeException lookup) {
+                // Outcome unknown; keep the seats rather than risk handing them out twice
+                for (Pending pending : batch) {
+                    fail(pending, e, false);
+                }
+                throw e;
+            }
+            for (Pending pending : batch) {
+                if (written.contains(pending.registration().getId())) {
+                    created(pending);
+                } else {
+                    fail(pending, e);
+                }
+            }
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            Pending pending = batch.get(i);
+            BulkWriteError error = errors.get(i);
+            if (error == null) {
+                created(pending);
+            } else if (error.getCode() == DUPLICATE_KEY) {
+                Registrations original = findReplay(pending.user(), pending.event(), pending.registration().getIdempotencyKey());
+                if (original != null) {
+                    seatReservationService.release(pending.event().getId(), 1);
+                    complete(pending, original);
+                } else {
+                    registrationMetrics.duplicate();
+                    fail(pending, new DuplicateRegistrationException("Already registered for this event"));
+                }
+            } else {
+                fail(pending, new IllegalStateException(error.getMessage()));
+            }
+        }
+    }
+
+    private Set<String> writtenIds(List<Pending> batch) {
+        List<ObjectId> ids = batch.stream().map(pending -> new ObjectId(pending.registration().getId())).toList();
+        Query query = new Query(where("_id").in(ids));
+        query.fields().include("_id");
+        Set<String> written = new HashSet<>();
+        mongoTemplate.find(query, Registrations.class).forEach(registration -> written.add(registration.getId()));
+        return written;
+    }
+
+    private void created(Pending pending) {
+        registrationAnalyticsService.recordCreated(pending.registration());
+        registrationMetrics.created();
+        liveUpdateHub.registrationChanged(pending.registration());
+        complete(pending, pending.registration());
+    }
+
+    private void complete(Pending pending, Registrations registration) {
+        tickets.put(pending.ticket().getId(), confirmed(pending.ticket(), registration));
+        pending.future().complete(registration);
+    }
+
+    private void fail(Pending pending, RuntimeException e) {
+        fail(pending, e, true);
+    }
+
+    private void fail(Pending pending, RuntimeException e, boolean releaseSeat) {
+        if (releaseSeat) {
+            seatReservationService.release(pending.event().getId(), 1);
+        }
+        RegistrationTicket ticket = copy(pending.ticket());
+        ticket.setState(RegistrationTicket.State.FAILED);
+        ticket.setReason(e.getMessage());
+        tickets.put(ticket.getId(), ticket);
+        pending.future().completeExceptionally(e);
+    }
+
+    // Tickets are read by pollers while the flusher works, so finished ones are new instances
+    private static RegistrationTicket confirmed(RegistrationTicket pending, Registrations registration) {
+        RegistrationTicket ticket = copy(pending);
+        ticket.setState(RegistrationTicket.State.CONFIRMED);
+        ticket.setRegistration(registration);
+        return ticket;
+    }
+
+    private static RegistrationTicket copy(RegistrationTicket ticket) {
+        return new RegistrationTicket(ticket.getId(), ticket.getEventId(), ticket.getEmail());
+    }
+
+    private Registrations findReplay(User user, Event event, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        return registrationsRepository.findByUserIdAndEventId(new ObjectId(user.getId()), new ObjectId(event.getId()))
+                .filter(existing -> idempotencyKey.equals(existing.getIdempotencyKey()))
+                .orElse(null);
+    }
+
+    public record Accepted(RegistrationTicket ticket, CompletableFuture<Registrations> confirmed) {
+    }
+
+    private record Pending(Registrations registration, User user, Event event,
+                           RegistrationTicket ticket, CompletableFuture<Registrations> future) {
+    }
+}
@@ -1,88 +1,306 @@
 package com.example.eventRegistrationApp.service;
 
+import com.example.eventRegistrationApp.config.MongoIndexInitializer;
+import com.example.eventRegistrationApp.entity.BulkStatusRequest;
+import com.example.eventRegistrationApp.entity.BulkStatusResult;
+import com.example.eventRegistrationApp.entity.CursorPage;
 import com.example.eventRegistrationApp.entity.Event;
 import com.example.eventRegistrationApp.entity.Registrations;
 import com.example.eventRegistrationApp.entity.User;
-import com.example.eventRegistrationApp.repository.EventRepository;
+import com.example.eventRegistrationApp.entity.WaitlistEntry;
+import com.example.eventRegistrationApp.exception.DuplicateRegistrationException;
+import com.example.eventRegistrationApp.exception.EventFullException;
 import com.example.eventRegistrationApp.repository.RegistrationsRepository;
-import com.example.eventRegistrationApp.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.99}, histogram = true)
 public class RegistrationsService {
 
+    // Set by updateRegistrationStatuses on the documents each call changed
+    private static final String BULK_OPERATION_FIELD = "bulkOperation";
+
     @Autowired
     private RegistrationsRepository registrationsRepository;
 
 
 
     @Autowired
-    private UserRepository userRepository;
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Value("${app.registrations.bulk-max-size:20000}")
+    private int bulkMaxSize;
+
+    @Autowired
+    private RegistrationAnalyticsService registrationAnalyticsService;
+
+    @Autowired
+    private RegistrationMetrics registrationMetrics;
+
+    @Autowired
+    private LiveUpdateHub liveUpdateHub;
 
     @Autowired
-    private EventRepository eventRepository;
+    private MongoIndexInitializer mongoIndexInitializer;
 
     public List<Registrations> getAllRegistrations(){
         return registrationsRepository.findAll();
     }
 
+    // status may be null for all registrations
+    public CursorPage<Registrations> getRegistrationsPage(Registrations.Status status, String cursor, Integer size) {
+        Criteria filter = status != null ? where("status").is(status) : null;
+        return keysetPager.byId(filter, cursor, size, Registrations.class, Registrations::getId);
+    }
+
 
     public Registrations createRegistration(String userEmail, String eventId) {
-        User user = userRepository.findByEmail(userEmail)
+        return createRegistration(userEmail, eventId, null);
+    }
+
+    // Duplicates are caught by the unique (userId, eventId) index on insert rather than checked
+    // up front. A retry carrying the same idempotency key gets the original registration back.
+    public Registrations createRegistration(String userEmail, String eventId, String idempotencyKey) {
+        User user = entityCache.findUserByEmail(userEmail)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        Event event = eventRepository.findById(new ObjectId(eventId))
+        Event event = entityCache.findEvent(eventId)
                 .orElseThrow(() -> new RuntimeException("Event not found"));
 
-        // Check if already registered
-        if (registrationsRepository.existsByUserAndEvent(user, event)) {
-            throw new RuntimeException("Already registered for this event");
+        Registrations existing = findUnindexedDuplicate(user, event);
+        if (existing != null) {
+            if (idempotencyKey != null && idempotencyKey.equals(existing.getIdempotencyKey())) {
+                return existing;
+            }
+            registrationMetrics.duplicate();
+            throw new DuplicateRegistrationException("Already registered for this event");
         }
 
-        // Create registration
-        Registrations registration = new Registrations();
-        registration.setUser(user);
-        registration.setEvent(event);
+        // Take a seat first so a full event is refused before anything is written
+        if (!seatReservationService.reserve(event)) {
+            // The original request may have taken the last seat
+            Registrations original = findReplay(user, event, idempotencyKey);
+            if (original != null) {
+                return original;
+            }
+            registrationMetrics.full();
+            throw new EventFullException("Event is full");
+        }
+
+        Registrations registration = Registrations.of(user, event);
+        registration.setIdempotencyKey(idempotencyKey);
 
-        return registrationsRepository.save(registration);
+        Registrations saved;
+        try {
+            saved = registrationsRepository.insert(registration);
+        } catch (DuplicateKeyException e) {
+            seatReservationService.release(event.getId(), 1);
+            Registrations original = findReplay(user, event, idempotencyKey);
+            if (original != null) {
+                return original;
+            }
+            registrationMetrics.duplicate();
+            throw new DuplicateRegistrationException("Already registered for this event");
+        } catch (RuntimeException e) {
+            seatReservationService.release(event.getId(), 1);
+            throw e;
+        }
+        registrationAnalyticsService.recordCreated(saved);
+        registrationMetrics.created();
+        liveUpdateHub.registrationChanged(saved);
+        return saved;
+    }
+
+    // Fills free seats from the event's waitlist, head first. Every promotion takes a seat before
+    // claiming a waiter, so the number promoted never exceeds the seats freed. Never fails the caller.
+    public int promoteFromWaitlist(String eventId) {
+        int promoted = 0;
+        try {
+            Optional<Event> event = entityCache.findEvent(eventId);
+            if (event.isEmpty()) {
+                return 0;
+            }
+            while (seatReservationService.reserve(event.get())) {
+                if (!promoteNext(event.get())) {
+                    seatReservationService.release(eventId, 1);
+                    break;
+                }
+                promoted++;
+            }
+        } catch (RuntimeException e) {
+            log.warn("Waitlist promotion for event {} stopped: {}", eventId, e.getMessage());
+        }
+        return promoted;
+    }
+
+    // Registers waiters in order until one succeeds with the seat already held; false when nobody is waiting
+    private boolean promoteNext(Event event) {
+        while (true) {
+            Optional<WaitlistEntry> next = waitlistService.claimNext(event.getId());
+            if (next.isEmpty()) {
+                return false;
+            }
+            WaitlistEntry entry = next.get();
+            Optional<User> user = entityCache.findUserByEmail(entry.getEmail());
+            if (user.isEmpty() || findUnindexedDuplicate(user.get(), event) != null) {
+                continue;
+            }
+            try {
+                Registrations saved = registrationsRepository.insert(Registrations.of(user.get(), event));
+                registrationAnalyticsService.recordCreated(saved);
+                liveUpdateHub.registrationChanged(saved);
+                return true;
+            } catch (DuplicateKeyException e) {
+                // Registered some other way meanwhile; the seat goes to the next waiter
+            } catch (RuntimeException e) {
+                waitlistService.restore(entry);
+                throw e;
+            }
+        }
+    }
+
+    // Until the unique (userId, eventId) index exists the insert can't catch duplicates, so they
+    // are looked for up front; null once the index is in place
+    Registrations findUnindexedDuplicate(User user, Event event) {
+        if (mongoIndexInitializer.hasUniqueRegistrations()) {
+            return null;
+        }
+        return registrationsRepository.findByUserIdAndEventId(new ObjectId(user.getId()), new ObjectId(event.getId()))
+                .orElse(null);
+    }
+
+    private Registrations findReplay(User user, Event event, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return null;
+        }
+        return registrationsRepository.findByUserIdAndEventId(new ObjectId(user.getId()), new ObjectId(event.getId()))
+                .filter(existing -> idempotencyKey.equals(existing.getIdempotencyKey()))
+                .orElse(null);
     }
 
     public List<Registrations> getRegistrationsByUser(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = entityCache.findUserByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found"));
-        return registrationsRepository.findByUser(user);
+        return registrationsRepository.findByUserId(new ObjectId(user.getId()));
     }
 
     public boolean cancelRegistrationById(String registrationId) {
         try {
             ObjectId regId = new ObjectId(registrationId);
-            Optional<Registrations> registrationOpt = registrationsRepository.findById(regId);
-
-            if (registrationOpt.isPresent()) {
-                registrationsRepository.deleteById(regId);
-                return true;
+            // Only the request that actually removes the document gives the seat back
+            Registrations registration = mongoTemplate.findAndRemove(new Query(where("_id").is(regId)), Registrations.class);
+            if (registration == null) {
+                return false;
             }
-            return false;
+            registrationAnalyticsService.recordCancelled(registration);
+            liveUpdateHub.registrationCancelled(registration);
+            // Rejected registrations already gave their seat back
+            if (registration.getStatus() != Registrations.Status.REJECTED && registration.getEventId() != null) {
+                seatReservationService.release(registration.getEventId(), 1);
+                promoteFromWaitlist(registration.getEventId());
+            }
+            return true;
         } catch (IllegalArgumentException e) {
             // Invalid ObjectId format
             return false;
         }
     }
 
+    // The write only matches the status that was read, so concurrent changes to one registration
+    // can't both move its seat; the loser re-reads and tries again
     public Registrations updateRegistrationStatus(String registrationId, Registrations.Status status) {
         ObjectId objectId = new ObjectId(registrationId);
-        Optional<Registrations> optionalRegistration = registrationsRepository.findById(objectId);
-        if (optionalRegistration.isPresent()) {
-            Registrations registration = optionalRegistration.get();
-            registration.setStatus(status);
-            return registrationsRepository.save(registration);
-        } else {
-            throw new RuntimeException("Registration not found");
+        while (true) {
+            Registrations registration = registrationsRepository.findById(objectId)
+                    .orElseThrow(() -> new RuntimeException("Registration not found"));
+            Registrations.Status previous = registration.getStatus();
+            String eventId = registration.getEventId();
+            if (previous == status) {
+                return registration;
+            }
+
+            // Taking a rejected registration back needs a seat before the write
+            boolean reserved = false;
+            if (previous == Registrations.Status.REJECTED && eventId != null) {
+                Optional<Event> event = entityCache.findEvent(eventId);
+                if (event.isPresent()) {
+                    if (!seatReservationService.reserve(event.get())) {
+                        throw new EventFullException("Event is full");
+                    }
+                    reserved = event.get().getMaxParticipants() != null;
+                }
+            }
+
+            Registrations saved;
+            try {
+                saved = mongoTemplate.findAndModify(
+                        new Query(where("_id").is(objectId).and("status").is(previous)),
+                        new Update().set("status", status),
+                        FindAndModifyOptions.options().returnNew(true),
+                        Registrations.class
+                );
+            } catch (RuntimeException e) {
+                if (reserved) {
+                    seatReservationService.release(eventId, 1);
+                }
+                throw e;
+            }
+            if (saved == null) {
+                if (reserved) {
+                    seatReservationService.release(eventId, 1);
+                }
+                continue;
+            }
+
+            registrationAnalyticsService.recordStatusChange(saved, previous, status);
+            liveUpdateHub.registrationChanged(saved);
+            // A rejection frees the seat, once the write is known to have happened
+            if (status == Registrations.Status.REJECTED) {
+                registrationMetrics.rejected(1);
+                if (eventId != null) {
+                    seatReservationService.release(eventId, 1);
+                    promoteFromWaitlist(eventId);
+                }
+            }
+            return saved;
         }
     }
 
@@ -90,6 +308,144 @@ public class RegistrationsService {
         return registrationsRepository.findByStatus(Registrations.Status.PENDING);
     }
 
+    // Sets one status on many registrations: a single projected read, seat adjustments grouped
+    // per event, and one unordered bulk write of partial $set updates
+    public BulkStatusResult updateRegistrationStatuses(BulkStatusRequest request) {
+        Registrations.Status target = request.getStatus();
+        if (target == null) {
+            throw new IllegalArgumentException("status is required");
+        }
+
+        BulkStatusResult result = new BulkStatusResult();
+        Query query;
+        List<String> requestedIds = null;
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            if (request.getIds().size() > bulkMaxSize) {
+                throw new IllegalArgumentException("At most " + bulkMaxSize + " registrations per request");
+            }
+            requestedIds = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+            List<ObjectId> objectIds = new ArrayList<>(requestedIds.size());
+            for (String id : requestedIds) {
+                if (ObjectId.isValid(id)) {
+                    objectIds.add(new ObjectId(id));
+                }
+            }
+            query = new Query(where("_id").in(objectIds));
+        } else if (request.getEventId() != null && ObjectId.isValid(request.getEventId())) {
+            Registrations.Status from = request.getFromStatus() != null ? request.getFromStatus() : Registrations.Status.PENDING;
+            // One over the limit tells whether there are more than this request handles
+            query = new Query(where("eventId").is(new ObjectId(request.getEventId())).and("status").is(from))
+                    .limit(bulkMaxSize + 1);
+        } else {
+            throw new IllegalArgumentException("ids or a valid eventId is required");
+        }
+        // The user's email is only read to address live updates
+        query.fields().include("eventId", "status", "userSnapshot.email");
+
+        Map<String, Registrations> found = new LinkedHashMap<>();
+        for (Registrations registration : mongoTemplate.find(query, Registrations.class)) {
+            if (found.size() == bulkMaxSize) {
+                result.setTruncated(true);
+                break;
+            }
+            found.put(registration.getId(), registration);
+        }
+        if (requestedIds != null) {
+            for (String id : requestedIds) {
+                if (!found.containsKey(id)) {
+                    result.add(id, BulkStatusResult.Outcome.NOT_FOUND);
+                }
+            }
+        }
+
+        // Candidates grouped by their current status, which the write also matches on
+        Map<Registrations.Status, List<Registrations>> byPrevious = new EnumMap<>(Registrations.Status.class);
+        for (Registrations registration : found.values()) {
+            Registrations.Status previous = registration.getStatus();
+            if (previous == target) {
+                result.add(registration.getId(), BulkStatusResult.Outcome.UNCHANGED);
+                continue;
+            }
+            // Taking a rejected registration back needs a seat again
+            if (previous == Registrations.Status.REJECTED && registration.getEventId() != null) {
+                Optional<Event> event = entityCache.findEvent(registration.getEventId());
+                if (event.isPresent() && !seatReservationService.reserve(event.get())) {
+                    result.add(registration.getId(), BulkStatusResult.Outcome.FULL);
+                    continue;
+                }
+            }
+            byPrevious.computeIfAbsent(previous, status -> new ArrayList<>()).add(registration);
+        }
+        if (byPrevious.isEmpty()) {
+            return result;
+        }
+
+        // Each write matches the status that was read and tags what it changed with this operation's
+        // id, so a document changed to the same status by someone else is not taken for ours
+        String operation = new ObjectId().toHexString();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Registrations.class);
+        int expected = 0;
+        for (Map.Entry<Registrations.Status, List<Registrations>> group : byPrevious.entrySet()) {
+            List<ObjectId> ids = group.getValue().stream().map(registration -> new ObjectId(registration.getId())).toList();
+            bulk.updateMulti(new Query(where("_id").in(ids).and("status").is(group.getKey())),
+                    new Update().set("status", target).set(BULK_OPERATION_FIELD, operation));
+            expected += ids.size();
+        }
+        int modified = bulk.execute().getModifiedCount();
+
+        // Some documents changed status since the read; only the ones carrying our tag were written here
+        Set<String> conflicts = new HashSet<>();
+        if (modified < expected) {
+            Set<String> written = new HashSet<>();
+            List<ObjectId> candidateIds = byPrevious.values().stream()
+                    .flatMap(List::stream)
+                    .map(registration -> new ObjectId(registration.getId()))
+                    .toList();
+            Query ours = new Query(where("_id").in(candidateIds).and(BULK_OPERATION_FIELD).is(operation));
+            ours.fields().include("_id");
+            mongoTemplate.find(ours, Registrations.class).forEach(registration -> written.add(registration.getId()));
+            byPrevious.values().stream()
+                    .flatMap(List::stream)
+                    .map(Registrations::getId)
+                    .filter(id -> !written.contains(id))
+                    .forEach(conflicts::add);
+        }
+
+        Map<String, Integer> seatsToRelease = new HashMap<>();
+        RegistrationAnalyticsService.Changes changes = new RegistrationAnalyticsService.Changes();
+        int rejected = 0;
+        for (Map.Entry<Registrations.Status, List<Registrations>> group : byPrevious.entrySet()) {
+            Registrations.Status previous = group.getKey();
+            for (Registrations registration : group.getValue()) {
+                String eventId = registration.getEventId();
+                boolean written = !conflicts.contains(registration.getId());
+                if (written) {
+                    result.add(registration.getId(), BulkStatusResult.Outcome.UPDATED);
+                    changes.statusChanged(registration, previous, target);
+                    liveUpdateHub.registrationChanged(registration, target, false);
+                    if (target == Registrations.Status.REJECTED) {
+                        rejected++;
+                    }
+                } else {
+                    result.add(registration.getId(), BulkStatusResult.Outcome.CONFLICT);
+                }
+                if (eventId == null) {
+                    continue;
+                }
+                // A rejection frees the seat; a seat taken above for an unwritten change goes back
+                if ((written && target == Registrations.Status.REJECTED)
+                        || (!written && previous == Registrations.Status.REJECTED)) {
+                    seatsToRelease.merge(eventId, 1, Integer::sum);
+                }
+            }
+        }
+        seatsToRelease.forEach(seatReservationService::release);
+        registrationAnalyticsService.apply(changes);
+        registrationMetrics.rejected(rejected);
+        seatsToRelease.keySet().forEach(this::promoteFromWaitlist);
+        return result;
+    }
+
 
 
 
@@ -0,0 +1,280 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSeatStripe;
+import com.example.eventRegistrationApp.entity.Registrations;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Hands out seats for events with a maxParticipants limit.
+// Free seats live in several stripe documents per event, each taken with a conditional
+// decrement, so concurrent registrations for one event spread over several documents
+// and a stripe can never go below zero.
+@Service
+public class SeatReservationService {
+
+    private static final int UNKNOWN = -1;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private final int stripeCount;
+    private final long soldOutRecheckNanos;
+
+    // Last remaining count this node saw per stripe, used to skip stripes that are already empty
+    private final ConcurrentHashMap<String, LocalSeats> localSeats = new ConcurrentHashMap<>();
+
+    public SeatReservationService(@Value("${app.seats.stripes:8}") int stripeCount,
+                                  @Value("${app.seats.sold-out-recheck:200ms}") Duration soldOutRecheck) {
+        this.stripeCount = stripeCount;
+        this.soldOutRecheckNanos = soldOutRecheck.toNanos();
+    }
+
+    // Takes one seat; returns false when the event is full. Events without a limit always succeed.
+    public boolean reserve(Event event) {
+        if (event.getMaxParticipants() == null) {
+            return true;
+        }
+        String eventId = event.getId();
+        LocalSeats seats = ensureStripes(event);
+
+        if (seats.isSoldOut(soldOutRecheckNanos)) {
+            return false;
+        }
+
+        int start = ThreadLocalRandom.current().nextInt(stripeCount);
+        for (int i = 0; i < stripeCount; i++) {
+            int stripe = (start + i) % stripeCount;
+            if (seats.remaining.get(stripe) != 0 && tryTake(eventId, stripe, seats)) {
+                return true;
+            }
+        }
+
+        // Every stripe looked empty from here; seats may have been released by another node
+        while (true) {
+            List<EventSeatStripe> withSeats = mongoTemplate.find(
+                    new Query(where("_id").in(stripeIds(eventId)).and("remaining").gt(0)),
+                    EventSeatStripe.class
+            );
+            if (withSeats.isEmpty()) {
+                seats.markSoldOut();
+                return false;
+            }
+            for (EventSeatStripe candidate : withSeats) {
+                if (tryTake(eventId, candidate.getStripe(), seats)) {
+                    return true;
+                }
+            }
+        }
+    }
+
+    // Gives seats back, e.g. after a cancellation or a failed registration write
+    public void release(String eventId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        int stripe = ThreadLocalRandom.current().nextInt(stripeCount);
+        // No upsert: events without a limit (or not yet initialised) have no stripes to return seats to
+        EventSeatStripe updated = mongoTemplate.findAndModify(
+                new Query(where("_id").is(EventSeatStripe.idFor(eventId, stripe))),
+                new Update().inc("remaining", count),
+                FindAndModifyOptions.options().returnNew(true),
+                EventSeatStripe.class
+        );
+        LocalSeats seats = localSeats.get(eventId);
+        if (updated != null && seats != null) {
+            seats.remaining.set(stripe, updated.getRemaining());
+            seats.clearSoldOut();
+        }
+    }
+
+    // Whether a reserve() right now could succeed; does not take anything
+    public boolean hasFreeSeat(Event event) {
+        if (event.getMaxParticipants() == null) {
+            return true;
+        }
+        ensureStripes(event);
+        return mongoTemplate.exists(new Query(where("_id").in(stripeIds(event.getId())).and("remaining").gt(0)), EventSeatStripe.class);
+    }
+
+    // Free seats across all stripes; null for events without a limit
+    public Integer remainingSeats(Event event) {
+        if (event.getMaxParticipants() == null) {
+            return null;
+        }
+        ensureStripes(event);
+        int remaining = 0;
+        for (EventSeatStripe stripe : mongoTemplate.find(new Query(where("_id").in(stripeIds(event.getId()))), EventSeatStripe.class)) {
+            remaining += stripe.getRemaining();
+        }
+        return remaining;
+    }
+
+    public void initialise(Event event) {
+        if (event.getMaxParticipants() != null) {
+            ensureStripes(event);
+        }
+    }
+
+    // Applies a change of maxParticipants to the stripes without disturbing seats already taken
+    public void capacityChanged(Event event, Integer previousCapacity) {
+        String eventId = event.getId();
+        Integer capacity = event.getMaxParticipants();
+        if (capacity == null || previousCapacity == null) {
+            // Switching between limited and unlimited: rebuild from the registrations on record
+            drop(eventId);
+            initialise(event);
+            return;
+        }
+
+        int delta = capacity - previousCapacity;
+        if (delta > 0) {
+            release(eventId, delta);
+        } else if (delta < 0) {
+            withdraw(eventId, -delta);
+        }
+    }
+
+    public void drop(String eventId) {
+        mongoTemplate.remove(new Query(where("_id").in(stripeIds(eventId))), EventSeatStripe.class);
+        localSeats.remove(eventId);
+    }
+
+    private boolean tryTake(String eventId, int stripe, LocalSeats seats) {
+        EventSeatStripe updated = mongoTemplate.findAndModify(
+                new Query(where("_id").is(EventSeatStripe.idFor(eventId, stripe)).and("remaining").gt(0)),
+                new Update().inc("remaining", -1),
+                FindAndModifyOptions.options().returnNew(true),
+                EventSeatStripe.class
+        );
+        if (updated == null) {
+            seats.remaining.set(stripe, 0);
+            return false;
+        }
+        seats.remaining.set(stripe, updated.getRemaining());
+        return true;
+    }
+
+    // Removes up to `count` free seats; seats already taken stay taken
+    private void withdraw(String eventId, int count) {
+        int outstanding = count;
+        while (outstanding > 0) {
+            List<EventSeatStripe> withSeats = mongoTemplate.find(
+                    new Query(where("_id").in(stripeIds(eventId)).and("remaining").gt(0)),
+                    EventSeatStripe.class
+            );
+            if (withSeats.isEmpty()) {
+                break;
+            }
+            for (EventSeatStripe stripe : withSeats) {
+                int take = Math.min(outstanding, stripe.getRemaining());
+                EventSeatStripe updated = mongoTemplate.findAndModify(
+                        new Query(where("_id").is(stripe.getId()).and("remaining").gte(take)),
+                        new Update().inc("remaining", -take),
+                        EventSeatStripe.class
+                );
+                if (updated != null) {
+                    outstanding -= take;
+                    if (outstanding == 0) {
+                        break;
+                    }
+                }
+            }
+        }
+        localSeats.remove(eventId);
+    }
+
+    private LocalSeats ensureStripes(Event event) {
+        LocalSeats existing = localSeats.get(event.getId());
+        if (existing != null) {
+            return existing;
+        }
+
+        String eventId = event.getId();
+        List<String> ids = stripeIds(eventId);
+        if (!mongoTemplate.exists(new Query(where("_id").in(ids)), EventSeatStripe.class)) {
+            createStripes(event);
+        }
+        return localSeats.computeIfAbsent(eventId, id -> new LocalSeats(stripeCount));
+    }
+
+    private void createStripes(Event event) {
+        ObjectId eventObjectId = new ObjectId(event.getId());
+        // Registrations not migrated from @DBRef links yet still hold the event as event.$id.
+        // Counted against the collection name, since mapping to Registrations would turn that
+        // path into the embedded snapshot's field.
+        long taken = mongoTemplate.count(
+                new Query(new Criteria().orOperator(where("eventId").is(eventObjectId), where("event.$id").is(eventObjectId))
+                        .and("status").ne(Registrations.Status.REJECTED.name())),
+                mongoTemplate.getCollectionName(Registrations.class)
+        );
+        long free = Math.max(event.getMaxParticipants() - taken, 0);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventSeatStripe.class);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            long share = free / stripeCount + (stripe < free % stripeCount ? 1 : 0);
+            bulk.insert(new EventSeatStripe(EventSeatStripe.idFor(event.getId(), stripe), eventObjectId, stripe, (int) share));
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Another request or node created the stripes first; theirs are authoritative
+            boolean onlyDuplicates = e.getErrors().stream().allMatch(error -> error.getCode() == 11000);
+            if (!onlyDuplicates) {
+                throw e;
+            }
+        }
+    }
+
+    private List<String> stripeIds(String eventId) {
+        List<String> ids = new ArrayList<>(stripeCount);
+        for (int stripe = 0; stripe < stripeCount; stripe++) {
+            ids.add(EventSeatStripe.idFor(eventId, stripe));
+        }
+        return ids;
+    }
+
+    private static class LocalSeats {
+        private final AtomicIntegerArray remaining;
+        private volatile boolean soldOut;
+        private volatile long soldOutAt;
+
+        LocalSeats(int stripeCount) {
+            remaining = new AtomicIntegerArray(stripeCount);
+            for (int i = 0; i < stripeCount; i++) {
+                remaining.set(i, UNKNOWN);
+            }
+        }
+
+        boolean isSoldOut(long recheckNanos) {
+            return soldOut && System.nanoTime() - soldOutAt < recheckNanos;
+        }
+
+        void markSoldOut() {
+            soldOutAt = System.nanoTime();
+            soldOut = true;
+        }
+
+        void clearSoldOut() {
+            soldOut = false;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.UserImportResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Creates users from a CSV or NDJSON upload. The body is read a batch at a time; passwords are
+// hashed on a CPU-sized pool and each batch is inserted unordered, so a duplicate email only
+// fails its own row.
+@Service
+public class UserImportService {
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private static final int DUPLICATE_KEY = 11000;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.users.import.batch-size:1000}")
+    private int batchSize;
+
+    private final ThreadPoolExecutor hashingPool;
+
+    public UserImportService(@Value("${app.users.import.hashing-threads:0}") int hashingThreads) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        // Bounded queue; when it is full the importing thread hashes too instead of queueing more
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+
+    // CSV needs a header row naming the columns: firstName, lastName, email, password and optionally role
+    public UserImportResult importUsers(Format format, InputStream body) throws IOException {
+        UserImportResult result = new UserImportResult();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        Map<String, Integer> columns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Map<String, String> fields;
+            try {
+                if (format == Format.CSV) {
+                    List<String> values = parseCsvLine(line);
+                    if (columns == null) {
+                        columns = new HashMap<>();
+                        for (int i = 0; i < values.size(); i++) {
+                            columns.put(values.get(i).trim(), i);
+                        }
+                        continue;
+                    }
+                    fields = new HashMap<>();
+                    for (Map.Entry<String, Integer> column : columns.entrySet()) {
+                        fields.put(column.getKey(), column.getValue() < values.size() ? values.get(column.getValue()) : null);
+                    }
+                } else {
+                    fields = new HashMap<>();
+                    JsonNode node = objectMapper.readTree(line);
+                    node.fields().forEachRemaining(entry -> fields.put(entry.getKey(), entry.getValue().isNull() ? null : entry.getValue().asText()));
+                }
+            } catch (IOException | IllegalArgumentException e) {
+                result.fail(lineNumber, null, "Malformed row");
+                continue;
+            }
+
+            Row row = toRow(lineNumber, fields, seenEmails, result);
+            if (row != null) {
+                batch.add(row);
+            }
+            if (batch.size() >= batchSize) {
+                flush(batch, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, result);
+        }
+        return result;
+    }
+
+    private Row toRow(long lineNumber, Map<String, String> fields, Set<String> seenEmails, UserImportResult result) {
+        String email = trimToNull(fields.get("email"));
+        String firstName = trimToNull(fields.get("firstName"));
+        String password = fields.get("password");
+        if (email == null || firstName == null || password == null || password.isEmpty()) {
+            result.fail(lineNumber, email, "firstName, email and password are required");
+            return null;
+        }
+        if (!seenEmails.add(email)) {
+            result.fail(lineNumber, email, "Duplicate email");
+            return null;
+        }
+
+        User.Role role = User.Role.USER;
+        String roleName = trimToNull(fields.get("role"));
+        if (roleName != null) {
+            try {
+                role = User.Role.valueOf(roleName.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                result.fail(lineNumber, email, "Unknown role");
+                return null;
+            }
+        }
+
+        User user = User.builder()
+                .firstName(firstName)
+                .lastName(trimToNull(fields.get("lastName")))
+                .email(email)
+                .password(password)
+                .role(role)
+                .provider(User.AuthProvider.LOCAL)
+                .build();
+        return new Row(lineNumber, user);
+    }
+
+    private void flush(List<Row> batch, UserImportResult result) {
+        // Hash the whole batch in parallel before touching the database
+        List<Future<String>> hashes = new ArrayList<>(batch.size());
+        for (Row row : batch) {
+            String raw = row.user().getPassword();
+            hashes.add(hashingPool.submit(() -> passwordEncoder.encode(raw)));
+        }
+        List<Row> hashed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Row row = batch.get(i);
+            try {
+                row.user().setPassword(hashes.get(i).get());
+                hashed.add(row);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("User import interrupted", e);
+            } catch (ExecutionException e) {
+                result.fail(row.line(), row.user().getEmail(), "Could not hash password");
+            }
+        }
+        if (hashed.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, User.class);
+        bulk.insert(hashed.stream().map(Row::user).toList());
+        try {
+            result.setImported(result.getImported() + bulk.execute().getInsertedCount());
+        } catch (BulkOperationException e) {
+            result.setImported(result.getImported() + e.getResult().getInsertedCount());
+            for (BulkWriteError error : e.getErrors()) {
+                Row row = hashed.get(error.getIndex());
+                result.fail(row.line(), row.user().getEmail(),
+                        error.getCode() == DUPLICATE_KEY ? "Email already registered" : error.getMessage());
+            }
+        }
+    }
+
+    // One CSV record on one line; quoted fields may contain commas and doubled quotes
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quote");
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private record Row(long line, User user) {
+    }
+}
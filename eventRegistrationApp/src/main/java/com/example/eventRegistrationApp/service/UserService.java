@@ -1,27 +1,57 @@
 package com.example.eventRegistrationApp.service;
+import com.example.eventRegistrationApp.entity.CursorPage;
 import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.exception.HashingOverloadedException;
 import com.example.eventRegistrationApp.repository.UserRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.extern.slf4j.Slf4j;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+@Slf4j
 @Service
+@Timed(value = "app.service", percentiles = {0.5, 0.99}, histogram = true)
 public class UserService {
 
     @Autowired
     UserRepository userRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private RegistrationSnapshotService registrationSnapshotService;
+
+    @Autowired
+    private KeysetPager keysetPager;
+
+    @Autowired
+    private EntityCache entityCache;
 
     public User saveUser(User user){
         try{
-            user.setPassword(passwordEncoder.encode(user.getPassword()));
-            return userRepository.save(user);
+            user.setPassword(passwordHashingService.encodeNow(user.getPassword()));
+            String previousEmail = previousEmail(user);
+            User saved = userRepository.save(user);
+            evict(previousEmail, saved.getEmail());
+            return saved;
+        } catch (HashingOverloadedException e) {
+            throw e;
         } catch (Exception e) {
             throw new RuntimeException(e);
 
@@ -32,17 +62,50 @@ public class UserService {
     //This method used when you want to update the details of the user.
     public User saveUserDetails(User user) {
         try {
-            return userRepository.save(user);
+            String previousEmail = previousEmail(user);
+            User saved = userRepository.save(user);
+            evict(previousEmail, saved.getEmail());
+            registrationSnapshotService.refreshUser(saved);
+            return saved;
         } catch (Exception e) {
             throw new RuntimeException("Failed to save user details", e);
         }
     }
 
 
+    // Re-hashes at the current BCrypt cost in the background. Only replaces the hash that was
+    // verified, so a password changed in the meantime is left alone.
+    public void upgradePasswordHash(User user, String rawPassword) {
+        String verifiedHash = user.getPassword();
+        passwordHashingService.encode(rawPassword).thenAccept(upgraded -> {
+            long modified = mongoTemplate.updateFirst(
+                    new Query(where("_id").is(new ObjectId(user.getId())).and("password").is(verifiedHash)),
+                    new Update().set("password", upgraded),
+                    User.class
+            ).getModifiedCount();
+            if (modified > 0) {
+                evict(user.getEmail(), null);
+            }
+        }).exceptionally(e -> {
+            // Tried again on the next login
+            log.debug("Password hash upgrade skipped for {}: {}", user.getEmail(), e.getMessage());
+            return null;
+        });
+    }
+
     public List<User> getAllUsers(){
         return userRepository.findAll();
     }
 
+    public CursorPage<User> getUsersPage(String cursor, Integer size) {
+        return keysetPager.byId(null, cursor, size, User.class, User::getId);
+    }
+
+    public void deleteUserByEmail(String email) {
+        userRepository.deleteUserByEmail(email);
+        evict(email, null);
+    }
+
     public User findUserByEmail(String email){
             return userRepository.findUserByEmail(email);
     }
@@ -59,8 +122,10 @@ public class UserService {
     public boolean deleteUserById(String id) {
         try {
             ObjectId objectId = new ObjectId(id);
-            if (userRepository.existsById(objectId)) {
+            Optional<User> existing = userRepository.findById(objectId);
+            if (existing.isPresent()) {
                 userRepository.deleteById(objectId);
+                evict(existing.get().getEmail(), null);
                 return true;
             }
         } catch (IllegalArgumentException e) {
@@ -69,5 +134,23 @@ public class UserService {
         return false;
     }
 
+    // The stored email before an update, so both caches can drop the entry under it when it changes
+    private String previousEmail(User user) {
+        if (user.getId() == null) {
+            return null;
+        }
+        Query query = new Query(where("_id").is(new ObjectId(user.getId())));
+        query.fields().include("email");
+        User previous = mongoTemplate.findOne(query, User.class);
+        return previous != null ? previous.getEmail() : null;
+    }
 
+    private void evict(String previousEmail, String email) {
+        customUserDetailsService.evict(previousEmail);
+        entityCache.evictUser(previousEmail);
+        if (email != null && !email.equals(previousEmail)) {
+            customUserDetailsService.evict(email);
+            entityCache.evictUser(email);
+        }
+    }
 }
@@ -0,0 +1,118 @@
+package com.example.eventRegistrationApp.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Order-statistic queue for one event's waitlist: higher priority first, then arrival order.
+// Each priority level keeps a Fenwick tree over arrival slots (1 = waiting, 0 = left), so the
+// position of any waiter is a prefix sum: O(log n) plus one step per distinct priority.
+// Not thread-safe; WaitlistService synchronizes on it.
+public class WaitlistQueue {
+
+    private final TreeMap<Integer, Level> levels = new TreeMap<>(Comparator.reverseOrder());
+    private final Map<String, Slot> slots = new HashMap<>();
+
+    // Appends key behind everyone of the same or higher priority; false if it is already queued
+    public boolean add(String key, int priority) {
+        if (slots.containsKey(key)) {
+            return false;
+        }
+        Level level = levels.computeIfAbsent(priority, p -> new Level());
+        slots.put(key, new Slot(priority, level.append()));
+        return true;
+    }
+
+    public boolean remove(String key) {
+        Slot slot = slots.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        Level level = levels.get(slot.priority);
+        level.clear(slot.index);
+        if (level.active == 0) {
+            levels.remove(slot.priority);
+        }
+        return true;
+    }
+
+    // 1-based position, or -1 when key is not queued
+    public int position(String key) {
+        Slot slot = slots.get(key);
+        if (slot == null) {
+            return -1;
+        }
+        int ahead = 0;
+        for (Level higher : levels.headMap(slot.priority).values()) {
+            ahead += higher.active;
+        }
+        return ahead + levels.get(slot.priority).prefix(slot.index);
+    }
+
+    public int size() {
+        return slots.size();
+    }
+
+    private record Slot(int priority, int index) {
+    }
+
+    private static class Level {
+        // Fenwick tree, 1-based; present[i] mirrors the value stored at slot i
+        private int[] tree = new int[17];
+        private boolean[] present = new boolean[17];
+        private int next = 1;
+        private int active;
+
+        int append() {
+            if (next == tree.length) {
+                grow();
+            }
+            int index = next++;
+            present[index] = true;
+            add(index, 1);
+            active++;
+            return index;
+        }
+
+        void clear(int index) {
+            if (present[index]) {
+                present[index] = false;
+                add(index, -1);
+                active--;
+            }
+        }
+
+        int prefix(int index) {
+            int sum = 0;
+            for (int i = index; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        private void add(int index, int delta) {
+            for (int i = index; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        // Doubling keeps appends amortized O(1); the tree is rebuilt in O(n)
+        private void grow() {
+            int capacity = tree.length * 2;
+            boolean[] grown = new boolean[capacity];
+            System.arraycopy(present, 0, grown, 0, present.length);
+            present = grown;
+            tree = new int[capacity];
+            for (int i = 1; i < capacity; i++) {
+                if (present[i]) {
+                    tree[i] += 1;
+                }
+                int parent = i + (i & -i);
+                if (parent < capacity) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+    }
+}
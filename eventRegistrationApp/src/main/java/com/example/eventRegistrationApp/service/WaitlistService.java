@@ -0,0 +1,184 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.entity.WaitlistEntry;
+import com.example.eventRegistrationApp.entity.WaitlistPosition;
+import com.example.eventRegistrationApp.exception.WaitlistException;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+
+// Per-event waitlists. Mongo holds the queue; each event's order is mirrored in a WaitlistQueue
+// so positions are answered from memory. Mirrors are reloaded after a TTL to pick up changes
+// made by other instances. Promotion itself lives in RegistrationsService, which claims entries
+// here one at a time.
+@Service
+public class WaitlistService {
+
+    // Also used by the reactive mode, which promotes from the same collection
+    public static final Sort SERVING_ORDER = Sort.by(Sort.Direction.DESC, "priority").and(Sort.by(Sort.Direction.ASC, "_id"));
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private EntityCache entityCache;
+
+    // Lazy: RegistrationsService claims entries from here
+    @Lazy
+    @Autowired
+    private RegistrationsService registrationsService;
+
+    @Value("${app.waitlist.mirror-ttl:30s}")
+    private Duration mirrorTtl;
+
+    private final ConcurrentHashMap<String, Mirror> mirrors = new ConcurrentHashMap<>();
+
+    // Empty when a seat freed up meanwhile and the caller was registered straight away
+    public Optional<WaitlistPosition> join(String email, String eventId) {
+        User user = user(email);
+        Event event = entityCache.findEvent(eventId)
+                .orElseThrow(() -> new RuntimeException("Event not found"));
+        if (seatReservationService.hasFreeSeat(event)) {
+            throw new WaitlistException("Event still has free seats");
+        }
+        WaitlistEntry entry = WaitlistEntry.builder()
+                .eventId(new ObjectId(event.getId()))
+                .userId(new ObjectId(user.getId()))
+                .email(user.getEmail())
+                .joinedAt(Instant.now())
+                .build();
+        try {
+            entry = mongoTemplate.insert(entry);
+        } catch (DuplicateKeyException e) {
+            throw new WaitlistException("Already on the waitlist for this event");
+        }
+
+        Mirror mirror = mirror(event.getId());
+        synchronized (mirror) {
+            mirror.queue.add(entry.getUserId(), entry.getPriority());
+        }
+        // A seat freed between the check above and the insert would otherwise wait for the next cancellation
+        registrationsService.promoteFromWaitlist(event.getId());
+        return position(email, event.getId());
+    }
+
+    public boolean leave(String email, String eventId) {
+        User user = user(email);
+        WaitlistEntry removed = mongoTemplate.findAndRemove(entryQuery(user.getId(), eventId), WaitlistEntry.class);
+        forget(eventId, user.getId());
+        return removed != null;
+    }
+
+    public Optional<WaitlistPosition> position(String email, String eventId) {
+        User user = user(email);
+        Mirror mirror = mirror(eventId);
+        synchronized (mirror) {
+            int position = mirror.queue.position(user.getId());
+            return position < 0
+                    ? Optional.empty()
+                    : Optional.of(new WaitlistPosition(eventId, position, mirror.queue.size()));
+        }
+    }
+
+    // Waiters in serving order
+    public List<WaitlistEntry> entries(String eventId) {
+        return mongoTemplate.find(new Query(where("eventId").is(new ObjectId(eventId))).with(SERVING_ORDER), WaitlistEntry.class);
+    }
+
+    public boolean setPriority(String entryId, int priority) {
+        WaitlistEntry updated = mongoTemplate.findAndModify(
+                new Query(where("_id").is(new ObjectId(entryId))),
+                new Update().set("priority", priority),
+                WaitlistEntry.class
+        );
+        if (updated == null) {
+            return false;
+        }
+        // Position within the new level follows arrival, so rebuild from the database
+        mirrors.remove(updated.getEventId());
+        return true;
+    }
+
+    // Atomically takes the head of the queue. Each entry can only be claimed once, so concurrent
+    // cancellations never promote the same waiter twice.
+    public Optional<WaitlistEntry> claimNext(String eventId) {
+        WaitlistEntry claimed = mongoTemplate.findAndRemove(
+                new Query(where("eventId").is(new ObjectId(eventId))).with(SERVING_ORDER),
+                WaitlistEntry.class
+        );
+        if (claimed != null) {
+            forget(eventId, claimed.getUserId());
+        }
+        return Optional.ofNullable(claimed);
+    }
+
+    // Puts a claimed entry back in its old place, e.g. when creating its registration failed
+    public void restore(WaitlistEntry entry) {
+        mongoTemplate.save(entry);
+        mirrors.remove(entry.getEventId());
+    }
+
+    public void dropEvent(String eventId) {
+        mongoTemplate.remove(new Query(where("eventId").is(new ObjectId(eventId))), WaitlistEntry.class);
+        mirrors.remove(eventId);
+    }
+
+    private void forget(String eventId, String userId) {
+        Mirror mirror = mirrors.get(eventId);
+        if (mirror != null) {
+            synchronized (mirror) {
+                mirror.queue.remove(userId);
+            }
+        }
+    }
+
+    private User user(String email) {
+        return entityCache.findUserByEmail(email)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private Query entryQuery(String userId, String eventId) {
+        return new Query(where("eventId").is(new ObjectId(eventId)).and("userId").is(new ObjectId(userId)));
+    }
+
+    // Loaded outside the map so no bin lock is held across the query; when two threads reload
+    // at once the newer load is kept
+    private Mirror mirror(String eventId) {
+        Mirror current = mirrors.get(eventId);
+        if (current != null && System.nanoTime() - current.loadedAt < mirrorTtl.toNanos()) {
+            return current;
+        }
+        Mirror loaded = new Mirror();
+        Query query = new Query(where("eventId").is(new ObjectId(eventId))).with(SERVING_ORDER);
+        query.fields().include("userId", "priority");
+        for (WaitlistEntry entry : mongoTemplate.find(query, WaitlistEntry.class)) {
+            loaded.queue.add(entry.getUserId(), entry.getPriority());
+        }
+        return mirrors.merge(eventId, loaded, (existing, fresh) -> existing.loadedAt - fresh.loadedAt >= 0 ? existing : fresh);
+    }
+
+    private static class Mirror {
+        private final WaitlistQueue queue = new WaitlistQueue();
+        private final long loadedAt = System.nanoTime();
+    }
+}
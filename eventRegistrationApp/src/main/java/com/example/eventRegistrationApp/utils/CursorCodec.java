@@ -0,0 +1,58 @@
+package com.example.eventRegistrationApp.utils;
+
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+// Opaque continuation tokens for keyset pagination. A token carries the sort key of the
+// last item returned: its _id, optionally preceded by its date.
+public final class CursorCodec {
+
+    // Stands in for the date of an item that has none
+    private static final String NO_DATE = "-";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private CursorCodec() {
+    }
+
+    public static String encode(ObjectId id) {
+        return encode(id.toHexString());
+    }
+
+    public static String encode(LocalDateTime date, ObjectId id) {
+        return encode((date != null ? date.toString() : NO_DATE) + "|" + id.toHexString());
+    }
+
+    public static ObjectId decodeId(String cursor) {
+        return new ObjectId(decode(cursor));
+    }
+
+    public static DatedCursor decodeDated(String cursor) {
+        String[] parts = decode(cursor).split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        try {
+            LocalDateTime date = parts[0].equals(NO_DATE) ? null : LocalDateTime.parse(parts[0]);
+            return new DatedCursor(date, new ObjectId(parts[1]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String encode(String raw) {
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        return new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+    }
+
+    // date is null when the item had none
+    public record DatedCursor(LocalDateTime date, ObjectId id) {
+    }
+}
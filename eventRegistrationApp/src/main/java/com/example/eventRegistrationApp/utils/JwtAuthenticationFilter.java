@@ -3,10 +3,12 @@ package com.example.eventRegistrationApp.utils;
 
 import com.example.eventRegistrationApp.service.CustomUserDetailsService;
 import com.example.eventRegistrationApp.utils.JwtUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.*;
@@ -14,14 +16,40 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final CustomUserDetailsService customUserDetailsService;
 
+    // When true the principal comes from the token's role claim and no user lookup is made
+    private final boolean statelessPrincipal;
+
+    // Time spent verifying the token and building the principal, by outcome
+    private final Timer authenticated;
+    private final Timer rejected;
+
+    public JwtAuthenticationFilter(JwtUtil jwtUtil,
+                                   CustomUserDetailsService customUserDetailsService,
+                                   @Value("${app.security.stateless-principal:true}") boolean statelessPrincipal,
+                                   MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.customUserDetailsService = customUserDetailsService;
+        this.statelessPrincipal = statelessPrincipal;
+        this.authenticated = timer(meterRegistry, "authenticated");
+        this.rejected = timer(meterRegistry, "rejected");
+    }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("app.security.jwt")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
@@ -29,28 +57,40 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String token;
-        final String username;
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        } else if (request.getServletPath().startsWith("/live/") && request.getParameter("access_token") != null) {
+            // EventSource can't set headers, so live streams may pass the token in the query string
+            token = request.getParameter("access_token");
+        } else {
             filterChain.doFilter(request, response);
             return;
         }
 
-        token = authHeader.substring(7);
-        username = jwtUtil.extractUsername(token);
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            if (jwtUtil.validateToken(token)) {
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(username);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            long start = System.nanoTime();
+            // One parse gives us signature, expiry and subject together
+            VerifiedToken verified = jwtUtil.verify(token);
+            if (verified != null) {
+                try {
+                    UserDetails userDetails = statelessPrincipal && verified.getRole() != null
+                            ? customUserDetailsService.fromClaims(verified.getUsername(), verified.getRole())
+                            : customUserDetailsService.loadUserByUsername(verified.getUsername());
 
-                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            userDetails,
+                            null,
+                            userDetails.getAuthorities()
+                    );
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                } catch (UsernameNotFoundException e) {
+                    // Token outlived its user; carry on unauthenticated
+                }
             }
+            Timer timer = SecurityContextHolder.getContext().getAuthentication() != null ? authenticated : rejected;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
         filterChain.doFilter(request, response);
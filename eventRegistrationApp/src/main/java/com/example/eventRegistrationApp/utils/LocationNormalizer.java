@@ -0,0 +1,25 @@
+package com.example.eventRegistrationApp.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+// Canonical spelling of event locations, so "  Hyderabad " and "Hyderabad" are stored alike
+public final class LocationNormalizer {
+
+    private LocationNormalizer() {
+    }
+
+    // Trims, collapses runs of whitespace and uses composed Unicode characters
+    public static String normalize(String location) {
+        if (location == null) {
+            return null;
+        }
+        return Normalizer.normalize(location, Normalizer.Form.NFC).trim().replaceAll("\\s+", " ");
+    }
+
+    // Case-insensitive grouping key, matching the strength-2 collation used by the location index
+    public static String key(String location) {
+        String normalized = normalize(location);
+        return normalized != null ? normalized.toLowerCase(Locale.ROOT) : null;
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.eventRegistrationApp.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+// Turns bursts on the expensive endpoints into fast 429s. Each route class has a token bucket
+// per client (the authenticated user, else the client address, which comes from X-Forwarded-For
+// when a trusted proxy sent the request; see server.forward-headers-strategy) and an optional cap
+// on requests in progress across all clients. Limits are "rate,burst,concurrent" with rate in
+// requests per second; 0 switches that part off.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter implements MeterBinder {
+
+    private final boolean enabled;
+    private final long idleNanos;
+    private final List<Route> routes;
+
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.idle-after:1m}") Duration idleAfter,
+                           @Value("${app.rate-limit.login:5,10,32}") String login,
+                           @Value("${app.rate-limit.signup:1,5,8}") String signup,
+                           @Value("${app.rate-limit.search:10,20,32}") String search,
+                           @Value("${app.rate-limit.register:5,10,256}") String register) {
+        this.enabled = enabled;
+        this.idleNanos = idleAfter.toNanos();
+        this.routes = List.of(
+                Route.of("login", "POST", path -> path.equals("/public/login"), login),
+                Route.of("signup", "POST", path -> path.equals("/public/create-user") || path.equals("/public/register-admin"), signup),
+                Route.of("search", "GET", path -> path.equals("/events/search"), search),
+                Route.of("register", "POST", path -> path.startsWith("/register/"), register)
+        );
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || route(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Route route = route(request);
+
+        if (route.limiter() != null) {
+            long waitNanos = route.limiter().tryAcquire(clientKey(request), System.nanoTime());
+            if (waitNanos > 0) {
+                reject(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)),
+                        "Too many requests, please slow down.");
+                return;
+            }
+        }
+
+        Semaphore inFlight = route.inFlight();
+        if (inFlight == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            reject(response, 1, "Server is busy, please retry.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Async handlers (e.g. login) are still running when the dispatch returns
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(inFlight));
+            } else {
+                inFlight.release();
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-after:1m}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            if (route.limiter() != null) {
+                route.limiter().evictIdle(now, idleNanos);
+            }
+        }
+    }
+
+    // Live buckets and requests in progress per route class
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Route route : routes) {
+            if (route.limiter() != null) {
+                Gauge.builder("app.rate.limit.buckets", route.limiter(), RateLimiter::size)
+                        .tag("route", route.name())
+                        .register(registry);
+            }
+            if (route.inFlight() != null) {
+                Gauge.builder("app.rate.limit.in.flight", route, Route::inProgress)
+                        .tag("route", route.name())
+                        .register(registry);
+            }
+        }
+    }
+
+    private Route route(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.method().equals(request.getMethod()) && route.path().test(path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Runs after the JWT filter, so signed-in clients are limited per user rather than per address
+    private static String clientKey(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !(auth instanceof AnonymousAuthenticationToken)) {
+            return "user:" + auth.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static void reject(HttpServletResponse response, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    private record Route(String name, String method, Predicate<String> path, RateLimiter limiter, Semaphore inFlight,
+                         int maxConcurrent) {
+        double inProgress() {
+            return maxConcurrent - inFlight.availablePermits();
+        }
+
+        static Route of(String name, String method, Predicate<String> path, String spec) {
+            String[] parts = spec.split(",");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Rate limit for " + name + " must be rate,burst,concurrent: " + spec);
+            }
+            double rate = Double.parseDouble(parts[0].trim());
+            int burst = Integer.parseInt(parts[1].trim());
+            int concurrent = Integer.parseInt(parts[2].trim());
+            return new Route(name, method, path,
+                    rate > 0 ? new RateLimiter(rate, Math.max(1, burst)) : null,
+                    concurrent > 0 ? new Semaphore(concurrent) : null,
+                    concurrent);
+        }
+    }
+
+    private static class ReleaseOnComplete implements AsyncListener {
+        private final Semaphore inFlight;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleaseOnComplete(Semaphore inFlight) {
+            this.inFlight = inFlight;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                inFlight.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
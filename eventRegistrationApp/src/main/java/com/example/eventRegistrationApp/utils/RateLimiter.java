@@ -0,0 +1,71 @@
+package com.example.eventRegistrationApp.utils;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token buckets keyed by client, one limiter per route class.
+// Each bucket is a single AtomicLong holding the time at which it will be full again (the
+// "generic cell rate" form of a token bucket), so taking a token is one CAS and no lock.
+// Keys are spread over stripes so the idle sweep walks small maps instead of one large one.
+public class RateLimiter {
+
+    private static final int STRIPES = 16;
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+
+    @SuppressWarnings("unchecked")
+    public RateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.intervalNanos = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = intervalNanos * burst;
+        this.stripes = new ConcurrentHashMap[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    // 0 when a token was taken, otherwise how long until the next one is available
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong fullAt = stripe(key).computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long excess = next - nowNanos - burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // A bucket that has been full for idleNanos is no different from a new one, so dropping it
+    // loses nothing. A request racing the sweep may take its token from the dropped bucket.
+    public int evictIdle(long nowNanos, long idleNanos) {
+        int evicted = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            int before = stripe.size();
+            stripe.values().removeIf(fullAt -> fullAt.get() + idleNanos <= nowNanos);
+            evicted += before - stripe.size();
+        }
+        return evicted;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+}
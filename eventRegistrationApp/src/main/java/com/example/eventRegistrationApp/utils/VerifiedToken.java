@@ -0,0 +1,19 @@
+package com.example.eventRegistrationApp.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+// Claims of a token whose signature and expiry have already been checked
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final String username;
+    private final String role;
+    private final Date expiration;
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
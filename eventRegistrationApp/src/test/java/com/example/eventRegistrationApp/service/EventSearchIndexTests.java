@@ -0,0 +1,97 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTests {
+
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private EventSearchIndex index;
+	private Event summit;
+	private Event meetup;
+	private Event festival;
+
+	@BeforeEach
+	void setUp() {
+		index = new EventSearchIndex();
+		ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+		summit = event("Java Summit", "Hyderabad", 1);
+		meetup = event("Spring Meetup", "Bengaluru", 2);
+		festival = event("Café Music Festival", "Hyderabad", 3);
+		index.index(summit);
+		index.index(meetup);
+		index.index(festival);
+	}
+
+	@Test
+	void matchesPrefixesAndSubstringsCaseInsensitively() {
+		assertEquals(List.of(summit), index.search("JAV"));
+		assertEquals(List.of(meetup), index.search("etup"));
+		assertEquals(List.of(festival), index.search("cafe"));
+	}
+
+	@Test
+	void requiresEveryWordAndRanksNameAboveLocation() {
+		assertEquals(List.of(festival), index.search("music hyderabad"));
+
+		Event hyderabadDays = event("Hyderabad Days", "Chennai", 4);
+		index.index(hyderabadDays);
+		assertEquals(hyderabadDays, index.search("hyderabad").get(0));
+	}
+
+	@Test
+	void matchesShortSubstringsAndPhrasesAcrossWords() {
+		assertEquals(List.of(summit), index.search("av"));
+		assertEquals(List.of(summit), index.search("a sum"));
+		assertEquals(List.of(festival), index.search("c fe"));
+	}
+
+	@Test
+	void followsUpdatesAndDeletes() {
+		summit.setEventName("Kotlin Summit");
+		index.index(summit);
+		assertTrue(index.search("java").isEmpty());
+		assertEquals(List.of(summit), index.search("kotlin"));
+
+		index.remove(summit.getId());
+		assertTrue(index.search("summit").isEmpty());
+	}
+
+	@Test
+	void rebuildKeepsChangesMadeWhileItReads() {
+		Event created = event("Kotlin Conf", "Chennai", 4);
+
+		// The collection is read before the create and the delete land
+		when(eventRepository.findAll()).thenAnswer(call -> {
+			index.index(created);
+			index.remove(meetup.getId());
+			return List.of(summit, meetup, festival);
+		});
+		index.rebuild();
+
+		assertEquals(List.of(created), index.search("kotlin"));
+		assertTrue(index.search("spring").isEmpty());
+		assertEquals(List.of(summit), index.search("java"));
+	}
+
+	private static Event event(String name, String location, int day) {
+		Event event = new Event();
+		event.setId(new ObjectId());
+		event.setEventName(name);
+		event.setLocation(location);
+		event.setDate(LocalDateTime.of(2026, 1, day, 10, 0));
+		return event;
+	}
+}
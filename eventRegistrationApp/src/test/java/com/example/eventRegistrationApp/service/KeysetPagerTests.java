@@ -0,0 +1,106 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.CursorPage;
+import com.example.eventRegistrationApp.entity.Event;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Pages through an in-memory collection that applies the few predicate shapes byDate builds,
+// sorted the way Mongo sorts: missing dates first, then by date and _id.
+class KeysetPagerTests {
+
+	private final List<Event> events = new ArrayList<>();
+	private KeysetPager pager;
+
+	@BeforeEach
+	void setUp() {
+		MongoTemplate mongo = mock(MongoTemplate.class);
+		when(mongo.find(any(Query.class), eq(Event.class))).thenAnswer(call -> find(call.getArgument(0)));
+		pager = new KeysetPager();
+		ReflectionTestUtils.setField(pager, "mongoTemplate", mongo);
+		ReflectionTestUtils.setField(pager, "maxSize", 500);
+	}
+
+	@Test
+	void pagesByDateThroughEventsWithoutADate() {
+		events.add(event(null));
+		events.add(event(3));
+		events.add(event(null));
+		events.add(event(1));
+		events.add(event(null));
+		events.add(event(1));
+		events.add(event(2));
+
+		List<Event> seen = new ArrayList<>();
+		String cursor = null;
+		do {
+			CursorPage<Event> page = pager.byDate("date", cursor, 2, Event.class, Event::getDate, Event::getId);
+			seen.addAll(page.getItems());
+			cursor = page.getNextCursor();
+		} while (cursor != null);
+
+		assertEquals(events.stream().sorted(MONGO_ORDER).toList(), seen);
+	}
+
+	private static final Comparator<Event> MONGO_ORDER = Comparator
+			.comparing(Event::getDate, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+			.thenComparing(Event::getId);
+
+	private List<Event> find(Query query) {
+		return events.stream()
+				.filter(event -> matches(query.getQueryObject(), event))
+				.sorted(MONGO_ORDER)
+				.limit(query.getLimit())
+				.toList();
+	}
+
+	private static boolean matches(Document criteria, Event event) {
+		if (criteria.containsKey("$or")) {
+			return criteria.getList("$or", Document.class).stream().anyMatch(alternative -> matches(alternative, event));
+		}
+		for (Map.Entry<String, Object> condition : criteria.entrySet()) {
+			Object actual = condition.getKey().equals("_id") ? new ObjectId(event.getId()) : event.getDate();
+			if (!matches(condition.getValue(), actual)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static boolean matches(Object expected, Object actual) {
+		if (expected instanceof Document operator) {
+			if (operator.containsKey("$ne")) {
+				return actual != operator.get("$ne") && (actual == null || !actual.equals(operator.get("$ne")));
+			}
+			return actual != null && ((Comparable) actual).compareTo(operator.get("$gt")) > 0;
+		}
+		return expected == null ? actual == null : expected.equals(actual);
+	}
+
+	private static Event event(Integer day) {
+		Event event = new Event();
+		event.setId(new ObjectId());
+		event.setEventName("Meetup");
+		// The setter refuses null, but documents stored without a date still read back that way
+		ReflectionTestUtils.setField(event, "date", day != null ? LocalDateTime.of(2026, 1, day, 10, 0) : null);
+		return event;
+	}
+}
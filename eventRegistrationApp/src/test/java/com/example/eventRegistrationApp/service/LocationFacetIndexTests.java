@@ -0,0 +1,69 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.LocationFacet;
+import com.example.eventRegistrationApp.repository.EventRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LocationFacetIndexTests {
+
+	private final EventRepository eventRepository = mock(EventRepository.class);
+	private LocationFacetIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new LocationFacetIndex();
+		ReflectionTestUtils.setField(index, "eventRepository", eventRepository);
+		ReflectionTestUtils.setField(index, "enabled", true);
+	}
+
+	@Test
+	void groupsLocationsCaseInsensitively() {
+		Event first = event("Hyderabad");
+		Event second = event("hyderabad ");
+		index.index(first);
+		index.index(second);
+
+		assertEquals(List.of(new LocationFacet("Hyderabad", 2)), index.facets());
+		assertEquals(Set.of(first.getId(), second.getId()), index.eventIds("HYDERABAD"));
+	}
+
+	@Test
+	void rebuildKeepsChangesMadeWhileItReads() {
+		Event kept = event("Hyderabad");
+		Event deleted = event("Chennai");
+		Event created = event("Bengaluru");
+		index.index(kept);
+		index.index(deleted);
+
+		// The collection is read before the create and the delete land
+		when(eventRepository.findAll()).thenAnswer(call -> {
+			index.index(created);
+			index.remove(deleted.getId());
+			return List.of(kept, deleted);
+		});
+		index.rebuild();
+
+		assertEquals(Set.of(created.getId()), index.eventIds("Bengaluru"));
+		assertEquals(Set.of(), index.eventIds("Chennai"));
+		assertEquals(Set.of(kept.getId()), index.eventIds("Hyderabad"));
+	}
+
+	private static Event event(String location) {
+		Event event = new Event();
+		event.setId(new ObjectId());
+		event.setEventName("Meetup");
+		event.setLocation(location);
+		return event;
+	}
+}
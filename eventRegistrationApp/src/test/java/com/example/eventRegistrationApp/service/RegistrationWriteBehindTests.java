@@ -0,0 +1,164 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.Registrations;
+import com.example.eventRegistrationApp.entity.User;
+import com.example.eventRegistrationApp.exception.RegistrationQueueFullException;
+import com.example.eventRegistrationApp.repository.RegistrationsRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RegistrationWriteBehindTests {
+
+	private final Event event = event();
+	private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+	private final BulkOperations bulk = mock(BulkOperations.class);
+	private final SeatReservationService seats = mock(SeatReservationService.class);
+	private final EntityCache entityCache = mock(EntityCache.class);
+	private final List<Registrations> inserted = Collections.synchronizedList(new ArrayList<>());
+	private RegistrationWriteBehind writeBehind;
+
+	@BeforeEach
+	void setUp() {
+		writeBehind = new RegistrationWriteBehind();
+		ReflectionTestUtils.setField(writeBehind, "entityCache", entityCache);
+		ReflectionTestUtils.setField(writeBehind, "seatReservationService", seats);
+		ReflectionTestUtils.setField(writeBehind, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(writeBehind, "registrationsRepository", mock(RegistrationsRepository.class));
+		ReflectionTestUtils.setField(writeBehind, "registrationAnalyticsService", mock(RegistrationAnalyticsService.class));
+		ReflectionTestUtils.setField(writeBehind, "registrationMetrics", mock(RegistrationMetrics.class));
+		ReflectionTestUtils.setField(writeBehind, "liveUpdateHub", mock(LiveUpdateHub.class));
+		ReflectionTestUtils.setField(writeBehind, "registrationsService", mock(RegistrationsService.class));
+		ReflectionTestUtils.setField(writeBehind, "enabled", true);
+		ReflectionTestUtils.setField(writeBehind, "queueCapacity", 1000);
+		ReflectionTestUtils.setField(writeBehind, "batchSize", 50);
+		ReflectionTestUtils.setField(writeBehind, "flushInterval", Duration.ofMillis(200));
+		ReflectionTestUtils.setField(writeBehind, "ticketTtl", Duration.ofMinutes(1));
+
+		when(entityCache.findEvent(event.getId())).thenReturn(Optional.of(event));
+		when(entityCache.findUserByEmail(anyString())).thenAnswer(call -> Optional.of(user(call.getArgument(0))));
+		when(seats.reserve(any(Event.class))).thenReturn(true);
+		when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(Registrations.class))).thenReturn(bulk);
+		doAnswer(call -> {
+			inserted.addAll(call.getArgument(0));
+			return bulk;
+		}).when(bulk).insert(anyList());
+
+		writeBehind.start();
+	}
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		writeBehind.stop();
+	}
+
+	@Test
+	void failedBatchOnlyRefusesRegistrationsThatWereNotWritten() throws Exception {
+		// The write times out after the first insert landed
+		when(bulk.execute()).thenThrow(new IllegalStateException("timed out"));
+		when(mongoTemplate.find(any(Query.class), eq(Registrations.class)))
+				.thenAnswer(call -> List.of(inserted.get(0)));
+
+		CompletableFuture<Registrations> first = writeBehind.submit("a@example.com", event.getId(), null).confirmed();
+		CompletableFuture<Registrations> second = writeBehind.submit("b@example.com", event.getId(), null).confirmed();
+		CompletableFuture.allOf(first, second).handle((result, e) -> null).get(5, TimeUnit.SECONDS);
+
+		assertEquals(2, inserted.size());
+		assertEquals(inserted.get(0).getId(), first.get().getId());
+		assertTrue(second.isCompletedExceptionally());
+		verify(seats, times(1)).release(event.getId(), 1);
+	}
+
+	@Test
+	void everyReservedSeatIsWrittenOrGivenBackWhenStopping() throws Exception {
+		AtomicInteger reserved = new AtomicInteger();
+		AtomicInteger released = new AtomicInteger();
+		when(seats.reserve(any(Event.class))).thenAnswer(call -> reserved.incrementAndGet() > 0);
+		doAnswer(call -> released.addAndGet(call.getArgument(1))).when(seats).release(anyString(), anyInt());
+
+		ExecutorService submitters = Executors.newFixedThreadPool(8);
+		List<CompletableFuture<Registrations>> accepted = Collections.synchronizedList(new ArrayList<>());
+		AtomicInteger refused = new AtomicInteger();
+		for (int thread = 0; thread < 8; thread++) {
+			int id = thread;
+			submitters.submit(() -> {
+				for (int i = 0; i < 200; i++) {
+					try {
+						accepted.add(writeBehind.submit("user" + id + "-" + i + "@example.com", event.getId(), null).confirmed());
+					} catch (RegistrationQueueFullException e) {
+						refused.incrementAndGet();
+					}
+				}
+			});
+		}
+		// Stop while submissions are still coming in
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (accepted.size() < 100 && System.nanoTime() < deadline) {
+			Thread.sleep(1);
+		}
+		writeBehind.stop();
+		submitters.shutdown();
+		assertTrue(submitters.awaitTermination(10, TimeUnit.SECONDS));
+
+		int written = 0;
+		for (CompletableFuture<Registrations> future : accepted) {
+			assertTrue(future.isDone(), "accepted registration left pending after stop");
+			if (!future.isCompletedExceptionally()) {
+				written++;
+			}
+		}
+		assertFalse(accepted.isEmpty());
+		assertEquals(1600, accepted.size() + refused.get());
+		assertEquals(inserted.size(), written);
+		// No seat is kept without a stored registration
+		assertEquals(reserved.get(), written + released.get());
+	}
+
+	private static Event event() {
+		Event event = new Event();
+		event.setId(new ObjectId());
+		event.setEventName("Java Summit");
+		event.setMaxParticipants(10_000);
+		return event;
+	}
+
+	private static User user(String email) {
+		User user = new User();
+		user.setId(new ObjectId());
+		user.setFirstName("Test");
+		user.setEmail(email);
+		user.setPassword("x");
+		return user;
+	}
+}
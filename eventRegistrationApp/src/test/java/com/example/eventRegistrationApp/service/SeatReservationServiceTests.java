@@ -0,0 +1,271 @@
+package com.example.eventRegistrationApp.service;
+
+import com.example.eventRegistrationApp.entity.Event;
+import com.example.eventRegistrationApp.entity.EventSeatStripe;
+import com.example.eventRegistrationApp.entity.Registrations;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Runs the service against an in-memory stand-in for the stripe collection that applies the
+// few query and update shapes it uses, one document at a time like Mongo does.
+class SeatReservationServiceTests {
+
+	private static final int STRIPES = 8;
+
+	private final Map<String, EventSeatStripe> stripes = new TreeMap<>();
+	// Raw registration documents, in either the current or the legacy @DBRef shape
+	private final List<Document> registrations = new ArrayList<>();
+	private SeatReservationService seats;
+
+	@BeforeEach
+	void setUp() {
+		seats = new SeatReservationService(STRIPES, Duration.ofMillis(200));
+		ReflectionTestUtils.setField(seats, "mongoTemplate", fakeMongo());
+	}
+
+	@Test
+	void concurrentReservationsNeverOversell() throws Exception {
+		Event event = event(25);
+		AtomicInteger taken = new AtomicInteger();
+
+		runConcurrently(64, () -> {
+			if (seats.reserve(event)) {
+				taken.incrementAndGet();
+			}
+		});
+
+		assertEquals(25, taken.get());
+		assertEquals(0, seats.remainingSeats(event));
+		assertNoNegativeStripes();
+		assertFalse(seats.reserve(event));
+	}
+
+	@Test
+	void releasedSeatsCanBeTakenAgainAfterSellingOut() {
+		Event event = event(3);
+		assertTrue(seats.reserve(event));
+		assertTrue(seats.reserve(event));
+		assertTrue(seats.reserve(event));
+		assertFalse(seats.reserve(event));
+
+		seats.release(event.getId(), 1);
+		assertTrue(seats.hasFreeSeat(event));
+		assertTrue(seats.reserve(event));
+		assertFalse(seats.reserve(event));
+	}
+
+	@Test
+	void reserveAndReleaseChurnKeepsCapacity() throws Exception {
+		Event event = event(10);
+
+		runConcurrently(32, () -> {
+			for (int i = 0; i < 50; i++) {
+				if (seats.reserve(event)) {
+					seats.release(event.getId(), 1);
+				}
+			}
+		});
+
+		assertEquals(10, seats.remainingSeats(event));
+		assertNoNegativeStripes();
+	}
+
+	@Test
+	void capacityChangesLeaveTakenSeatsAlone() {
+		Event event = event(10);
+		for (int i = 0; i < 4; i++) {
+			assertTrue(seats.reserve(event));
+		}
+
+		event.setMaxParticipants(6);
+		seats.capacityChanged(event, 10);
+		assertEquals(2, seats.remainingSeats(event));
+
+		event.setMaxParticipants(12);
+		seats.capacityChanged(event, 6);
+		assertEquals(8, seats.remainingSeats(event));
+		assertNoNegativeStripes();
+	}
+
+	@Test
+	void stripesCountRegistrationsNotMigratedYet() {
+		Event event = event(5);
+		ObjectId eventId = new ObjectId(event.getId());
+		registrations.add(new Document("eventId", eventId).append("status", "APPROVED"));
+		registrations.add(new Document("event", new Document("$ref", "events").append("$id", eventId)).append("status", "PENDING"));
+		registrations.add(new Document("event", new Document("$ref", "events").append("$id", eventId)).append("status", "APPROVED"));
+		registrations.add(new Document("event", new Document("$ref", "events").append("$id", eventId)).append("status", "REJECTED"));
+		registrations.add(new Document("event", new Document("$ref", "events").append("$id", new ObjectId())).append("status", "PENDING"));
+
+		assertEquals(2, seats.remainingSeats(event));
+		assertTrue(seats.reserve(event));
+		assertTrue(seats.reserve(event));
+		assertFalse(seats.reserve(event));
+	}
+
+	@Test
+	void eventsWithoutALimitAlwaysHaveSeats() {
+		Event event = event(null);
+		assertTrue(seats.reserve(event));
+		assertEquals(null, seats.remainingSeats(event));
+		assertTrue(stripes.isEmpty());
+	}
+
+	private void runConcurrently(int threads, Runnable work) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < threads; i++) {
+			futures.add(pool.submit((Callable<Void>) () -> {
+				start.await();
+				work.run();
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get(30, TimeUnit.SECONDS);
+		}
+		pool.shutdown();
+	}
+
+	private void assertNoNegativeStripes() {
+		synchronized (stripes) {
+			stripes.values().forEach(stripe -> assertTrue(stripe.getRemaining() >= 0, stripe.getId()));
+		}
+	}
+
+	private static Event event(Integer capacity) {
+		Event event = new Event();
+		event.setId(new ObjectId());
+		event.setEventName("Java Summit");
+		event.setMaxParticipants(capacity);
+		return event;
+	}
+
+	private MongoTemplate fakeMongo() {
+		MongoTemplate mongo = mock(MongoTemplate.class);
+		when(mongo.exists(any(Query.class), eq(EventSeatStripe.class)))
+				.thenAnswer(call -> !matching(call.getArgument(0)).isEmpty());
+		when(mongo.find(any(Query.class), eq(EventSeatStripe.class)))
+				.thenAnswer(call -> matching(call.getArgument(0)));
+		when(mongo.getCollectionName(Registrations.class)).thenReturn("registrations");
+		when(mongo.count(any(Query.class), eq("registrations")))
+				.thenAnswer(call -> registrations.stream().filter(registration -> takesSeat(call.getArgument(0), registration)).count());
+		when(mongo.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(EventSeatStripe.class)))
+				.thenAnswer(call -> findAndModify(call.getArgument(0), call.getArgument(1)));
+		when(mongo.findAndModify(any(Query.class), any(Update.class), eq(EventSeatStripe.class)))
+				.thenAnswer(call -> findAndModify(call.getArgument(0), call.getArgument(1)));
+		when(mongo.bulkOps(any(BulkOperations.BulkMode.class), eq(EventSeatStripe.class)))
+				.thenAnswer(call -> bulkInsert());
+		return mongo;
+	}
+
+	private BulkOperations bulkInsert() {
+		List<EventSeatStripe> inserts = new ArrayList<>();
+		BulkOperations bulk = mock(BulkOperations.class);
+		when(bulk.insert(any(Object.class))).thenAnswer(call -> {
+			inserts.add(call.getArgument(0));
+			return bulk;
+		});
+		when(bulk.execute()).thenAnswer(call -> {
+			synchronized (stripes) {
+				inserts.forEach(stripe -> stripes.putIfAbsent(stripe.getId(), stripe));
+			}
+			return null;
+		});
+		return bulk;
+	}
+
+	private List<EventSeatStripe> matching(Query query) {
+		synchronized (stripes) {
+			List<EventSeatStripe> matches = new ArrayList<>();
+			for (EventSeatStripe stripe : stripes.values()) {
+				if (matches(query.getQueryObject(), stripe)) {
+					matches.add(copy(stripe));
+				}
+			}
+			return matches;
+		}
+	}
+
+	// Returns the document after the update, as the service only asks for returnNew or ignores it
+	private EventSeatStripe findAndModify(Query query, Update update) {
+		synchronized (stripes) {
+			for (EventSeatStripe stripe : stripes.values()) {
+				if (matches(query.getQueryObject(), stripe)) {
+					Document inc = update.getUpdateObject().get("$inc", Document.class);
+					stripe.setRemaining(stripe.getRemaining() + inc.getInteger("remaining"));
+					return copy(stripe);
+				}
+			}
+			return null;
+		}
+	}
+
+	// Either link to the event, and not rejected
+	private static boolean takesSeat(Query query, Document registration) {
+		Document criteria = query.getQueryObject();
+		boolean linked = false;
+		for (Document alternative : criteria.getList("$or", Document.class)) {
+			Object eventId = alternative.containsKey("eventId")
+					? registration.get("eventId")
+					: registration.get("event") instanceof Document ref ? ref.get("$id") : null;
+			Object wanted = alternative.containsKey("eventId") ? alternative.get("eventId") : alternative.get("event.$id");
+			linked |= wanted.equals(eventId);
+		}
+		return linked && !criteria.get("status", Document.class).get("$ne").equals(registration.get("status"));
+	}
+
+	private static boolean matches(Document query, EventSeatStripe stripe) {
+		Object id = query.get("_id");
+		if (id instanceof Document in) {
+			if (!in.getList("$in", String.class).contains(stripe.getId())) {
+				return false;
+			}
+		} else if (!stripe.getId().equals(id)) {
+			return false;
+		}
+		Document remaining = query.get("remaining", Document.class);
+		if (remaining == null) {
+			return true;
+		}
+		if (remaining.containsKey("$gt")) {
+			return stripe.getRemaining() > remaining.getInteger("$gt");
+		}
+		return stripe.getRemaining() >= remaining.getInteger("$gte");
+	}
+
+	private static EventSeatStripe copy(EventSeatStripe stripe) {
+		return new EventSeatStripe(stripe.getId(), stripe.getEventId(), stripe.getStripe(), stripe.getRemaining());
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.eventRegistrationApp.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WaitlistQueueTests {
+
+	@Test
+	void positionsFollowArrivalOrder() {
+		WaitlistQueue queue = new WaitlistQueue();
+		queue.add("a", 0);
+		queue.add("b", 0);
+		queue.add("c", 0);
+
+		assertEquals(1, queue.position("a"));
+		assertEquals(3, queue.position("c"));
+
+		assertTrue(queue.remove("a"));
+		assertEquals(1, queue.position("b"));
+		assertEquals(2, queue.position("c"));
+		assertEquals(-1, queue.position("a"));
+		assertFalse(queue.add("b", 0));
+	}
+
+	@Test
+	void higherPriorityGoesFirst() {
+		WaitlistQueue queue = new WaitlistQueue();
+		queue.add("regular", 0);
+		queue.add("vip", 5);
+		queue.add("speaker", 10);
+
+		assertEquals(1, queue.position("speaker"));
+		assertEquals(2, queue.position("vip"));
+		assertEquals(3, queue.position("regular"));
+	}
+
+	@Test
+	void matchesAListAcrossGrowthAndRemovals() {
+		WaitlistQueue queue = new WaitlistQueue();
+		List<String> expected = new ArrayList<>();
+		Random random = new Random(42);
+		for (int i = 0; i < 5000; i++) {
+			String key = "u" + i;
+			queue.add(key, 0);
+			expected.add(key);
+			if (random.nextInt(3) == 0) {
+				String leaving = expected.remove(random.nextInt(expected.size()));
+				queue.remove(leaving);
+			}
+		}
+
+		assertEquals(expected.size(), queue.size());
+		for (int i = 0; i < expected.size(); i += 97) {
+			assertEquals(i + 1, queue.position(expected.get(i)));
+		}
+	}
+}
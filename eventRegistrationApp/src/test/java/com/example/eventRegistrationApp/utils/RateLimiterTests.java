@@ -0,0 +1,64 @@
+package com.example.eventRegistrationApp.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	@Test
+	void allowsBurstThenRefillsAtRate() {
+		RateLimiter limiter = new RateLimiter(2, 3);
+		long now = 0;
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, limiter.tryAcquire("a", now));
+		}
+		long wait = limiter.tryAcquire("a", now);
+		assertEquals(SECOND / 2, wait);
+
+		// Other clients have their own bucket
+		assertEquals(0, limiter.tryAcquire("b", now));
+
+		assertEquals(0, limiter.tryAcquire("a", now + wait));
+		assertTrue(limiter.tryAcquire("a", now + wait) > 0);
+	}
+
+	@Test
+	void evictsOnlyIdleBuckets() {
+		RateLimiter limiter = new RateLimiter(1, 5);
+		limiter.tryAcquire("idle", 0);
+		for (int i = 0; i < 5; i++) {
+			limiter.tryAcquire("busy", 10 * SECOND);
+		}
+
+		assertEquals(1, limiter.evictIdle(10 * SECOND, SECOND));
+		assertEquals(1, limiter.size());
+		assertTrue(limiter.tryAcquire("busy", 10 * SECOND) > 0);
+	}
+
+	@Test
+	void neverGrantsMoreThanBurstUnderContention() throws InterruptedException {
+		RateLimiter limiter = new RateLimiter(1, 50);
+		AtomicInteger granted = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 1000; i++) {
+			pool.execute(() -> {
+				if (limiter.tryAcquire("shared", 0) == 0) {
+					granted.incrementAndGet();
+				}
+			});
+		}
+		pool.shutdown();
+		assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+		assertEquals(50, granted.get());
+	}
+}
@@ -21,90 +21,39 @@ const DashboardOverview = () => {
     Authorization: `Bearer ${localStorage.getItem('token')}`,
     'Content-Type': 'application/json',
   };
+
+  const toStats = (overview) => ({
+    totalUsers: overview.totalUsers,
+    totalEvents: overview.totalEvents,
+    totalRegistrations: overview.totalRegistrations,
+    pendingRegistrations: overview.pendingRegistrations
+  });
   
-  useEffect(() => {
-    const fetchDashboardData = async () => {
-      setIsLoading(true);
-      setError(null);
-      
-      try {
-        // Fetch users, events, and registrations in parallel
-        const [usersResponse, eventsResponse, registrationsResponse, pendingResponse] = await Promise.all([
-          axios.get(`${API_BASE_URL}/admin/users`, { headers }),
-          axios.get(`${API_BASE_URL}/admin/events`, { headers }),
-          axios.get(`${API_BASE_URL}/admin/registrations`, { headers }),
-          axios.get(`${API_BASE_URL}/admin/registrations/pending`, { headers })
-        ]);
-        
-        setStats({
-          totalUsers: usersResponse.data.length,
-          totalEvents: eventsResponse.data.length,
-          totalRegistrations: registrationsResponse.data.length,
-          pendingRegistrations: pendingResponse.data.length
-        });
-      } catch (error) {
-        console.error('Error fetching dashboard data:', error);
-        setError('Failed to load dashboard data. Please try again later.');
-      } finally {
-        setIsLoading(false);
-      }
-    };
-    
-    fetchDashboardData();
-  }, []);
-  
-  // Fetch recent activities
   const [activities, setActivities] = useState([]);
-  const [activitiesLoading, setActivitiesLoading] = useState(true);
-  
-  useEffect(() => {
-    const fetchRecentActivities = async () => {
-      setActivitiesLoading(true);
-      try {
-        const response = await axios.get(`${API_BASE_URL}/admin/activities/recent`, { headers });
-        setActivities(response.data);
-      } catch (error) {
-        console.error('Error fetching recent activities:', error);
-        // Fallback to sample data if API fails
-        setActivities([
-          { id: 1, type: 'user_registered', user: 'John Doe', timestamp: new Date().toISOString() },
-          { id: 2, type: 'event_created', title: 'Summer Conference', timestamp: new Date(Date.now() - 86400000).toISOString() },
-          { id: 3, type: 'registration_approved', user: 'Jane Smith', event: 'Technical Workshop', timestamp: new Date(Date.now() - 172800000).toISOString() }
-        ]);
-      } finally {
-        setActivitiesLoading(false);
-      }
-    };
-    
-    fetchRecentActivities();
-  }, []);
-  
-  const handleRefresh = () => {
+
+  // Counts and recent activity both come from the one pre-computed overview
+  const loadOverview = async (failureMessage) => {
     setIsLoading(true);
-    setActivitiesLoading(true);
     setError(null);
-    
-    Promise.all([
-      axios.get(`${API_BASE_URL}/admin/users`, { headers }),
-      axios.get(`${API_BASE_URL}/admin/events`, { headers }),
-      axios.get(`${API_BASE_URL}/admin/registrations`, { headers }),
-      axios.get(`${API_BASE_URL}/admin/registrations/pending`, { headers }),
-      axios.get(`${API_BASE_URL}/admin/activities/recent`, { headers })
-    ]).then(([usersResponse, eventsResponse, registrationsResponse, pendingResponse, activitiesResponse]) => {
-      setStats({
-        totalUsers: usersResponse.data.length,
-        totalEvents: eventsResponse.data.length,
-        totalRegistrations: registrationsResponse.data.length,
-        pendingRegistrations: pendingResponse.data.length
-      });
-      setActivities(activitiesResponse.data);
-    }).catch(error => {
-      console.error('Error refreshing dashboard data:', error);
-      setError('Failed to refresh dashboard data. Please try again later.');
-    }).finally(() => {
+
+    try {
+      const overviewResponse = await axios.get(`${API_BASE_URL}/admin/overview`, { headers });
+      setStats(toStats(overviewResponse.data));
+      setActivities(overviewResponse.data.recentActivity ?? []);
+    } catch (error) {
+      console.error('Error fetching dashboard data:', error);
+      setError(failureMessage);
+    } finally {
       setIsLoading(false);
-      setActivitiesLoading(false);
-    });
+    }
+  };
+
+  useEffect(() => {
+    loadOverview('Failed to load dashboard data. Please try again later.');
+  }, []);
+
+  const handleRefresh = () => {
+    loadOverview('Failed to refresh dashboard data. Please try again later.');
   };
   
   return (
@@ -205,11 +154,11 @@ const DashboardOverview = () => {
           <div className="bg-white rounded-lg shadow-sm overflow-hidden">
             <div className="px-6 py-4 border-b border-gray-200 flex justify-between items-center">
               <h2 className="text-lg font-medium text-gray-900">Recent Activity</h2>
-              {activitiesLoading && (
+              {isLoading && (
                 <div className="h-4 w-4 rounded-full border-2 border-indigo-600 border-t-transparent animate-spin"></div>
               )}
             </div>
-            <RecentActivityList activities={activities} isLoading={activitiesLoading} />
+            <RecentActivityList activities={activities} isLoading={isLoading} />
           </div>
         </div>
       </div>
@@ -0,0 +1,87 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.function.Function;
+
+// Thin HTTP client for the backend that times every call into a Recorder
+class Api {
+
+    static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http;
+    private final URI baseUrl;
+    private final Duration timeout;
+
+    Api(HttpClient http, URI baseUrl, Duration timeout) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+        this.timeout = timeout;
+    }
+
+    HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(path)).timeout(timeout);
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    static HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    Response send(Recorder recorder, String operation, HttpRequest request) throws InterruptedException {
+        return send(recorder, operation, request, response -> String.valueOf(response.status()));
+    }
+
+    // The outcome label defaults to the status code; callers can split it further (e.g. "409 full")
+    Response send(Recorder recorder, String operation, HttpRequest request,
+                  Function<Response, String> outcome) throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> raw = http.send(request, HttpResponse.BodyHandlers.ofString());
+            Response response = new Response(raw.statusCode(), raw.body(),
+                    raw.headers().firstValue("Retry-After").orElse(null));
+            recorder.record(operation, System.nanoTime() - start, outcome.apply(response));
+            return response;
+        } catch (IOException e) {
+            recorder.record(operation, System.nanoTime() - start, "io " + e.getClass().getSimpleName());
+            return new Response(-1, e.toString(), null);
+        }
+    }
+
+    record Response(int status, String body, String retryAfter) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+
+        JsonNode json() {
+            try {
+                return JSON.readTree(body);
+            } catch (IOException e) {
+                throw new IllegalStateException("Expected JSON but got: " + body, e);
+            }
+        }
+
+        long retryAfterMillis(long fallback) {
+            try {
+                return retryAfter != null ? Long.parseLong(retryAfter.trim()) * 1000 : fallback;
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+    }
+}
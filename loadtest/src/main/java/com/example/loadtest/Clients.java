@@ -0,0 +1,27 @@
+package com.example.loadtest;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// One thread per simulated client: virtual threads on Java 21+, otherwise platform threads.
+// Every client blocks at the flash gate, so the fallback cannot be a bounded pool.
+// Looked up reflectively so the module still builds and runs on Java 17.
+final class Clients {
+
+    private Clients() {
+    }
+
+    static ExecutorService executor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    static boolean virtual(ExecutorService executor) {
+        return executor.getClass().getName().contains("ThreadPerTask");
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Simulates an event opening for registration against a running backend.
+//
+//  1. setup: an admin account, one "hot" event with --capacity seats and --users accounts
+//     (bulk imported through /admin/users/import)
+//  2. warm-up: every client logs in through /public/login and loads GET /events
+//  3. flash: all clients are held at a gate, then released together to POST /register/{eventId}
+//     and read /register/my-registrations
+//  4. verify: the event's attendees are exported and counted against maxParticipants
+//
+// Prints throughput, latency percentiles and outcome counts per operation and phase, and writes
+// the same as JSON to --report. Exits with status 2 when the event was overbooked.
+//
+//   docker compose up -d --build
+//   mvn -q compile exec:java -Dexec.args="--users 2000 --capacity 500"
+public class LoadTest {
+
+    private final Options options;
+    private final Api api;
+    private final ExecutorService clients;
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    LoadTest(Options options, ExecutorService clients) {
+        this.options = options;
+        this.clients = clients;
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.api = new Api(http, options.baseUrl, options.requestTimeout);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ExecutorService clients = Clients.executor();
+        boolean overbooked;
+        try {
+            overbooked = new LoadTest(options, clients).run();
+        } finally {
+            clients.shutdownNow();
+        }
+        System.exit(overbooked ? 2 : 0);
+    }
+
+    boolean run() throws Exception {
+        System.out.printf("Target %s, %d clients on %s threads%n", options.baseUrl, options.users,
+                Clients.virtual(clients) ? "virtual" : "platform");
+        report.put("baseUrl", options.baseUrl.toString());
+        report.put("users", options.users);
+        report.put("virtualThreads", Clients.virtual(clients));
+
+        Recorder setup = new Recorder();
+        String adminToken = adminToken(setup);
+        Event event = hotEvent(setup, adminToken);
+        importUsers(setup, adminToken);
+        report.put("event", Map.of("id", event.id(), "maxParticipants", event.maxParticipants()));
+
+        Recorder warmup = new Recorder();
+        Recorder flash = new Recorder();
+        AtomicInteger registered = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(options.users);
+        CountDownLatch gate = new CountDownLatch(1);
+
+        long warmupStart = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>(options.users);
+        for (int i = 0; i < options.users; i++) {
+            String email = userEmail(i);
+            running.add(clients.submit(() -> {
+                client(email, event.id(), warmup, flash, ready, gate, registered);
+                return null;
+            }));
+        }
+
+        ready.await();
+        double warmupSeconds = seconds(warmupStart);
+        long flashStart = System.nanoTime();
+        gate.countDown();
+        for (Future<?> client : running) {
+            client.get();
+        }
+        double flashSeconds = seconds(flashStart);
+
+        phase("warmup", warmupSeconds, warmup);
+        phase("flash", flashSeconds, flash);
+        return verify(setup, adminToken, event, registered.get());
+    }
+
+    // One simulated user: log in and browse, wait for the gate, then register
+    private void client(String email, String eventId, Recorder warmup, Recorder flash,
+                        CountDownLatch ready, CountDownLatch gate, AtomicInteger registered) throws InterruptedException {
+        String token;
+        try {
+            token = login(warmup, email, options.userPassword);
+            if (token != null) {
+                api.send(warmup, "events", api.request("/events", token).GET().build());
+            }
+        } finally {
+            ready.countDown();
+        }
+        gate.await();
+        if (token == null) {
+            return;
+        }
+
+        if (register(flash, token, eventId)) {
+            registered.incrementAndGet();
+        }
+        api.send(flash, "my-registrations", api.request("/register/my-registrations", token).GET().build());
+    }
+
+    private String login(Recorder recorder, String email, String password) throws InterruptedException {
+        HttpRequest request = api.request("/public/login", null)
+                .header("Content-Type", "application/json")
+                .POST(Api.json(Map.of("email", email, "password", password)))
+                .build();
+        for (int attempt = 0; ; attempt++) {
+            Api.Response response = api.send(recorder, "login", request);
+            if (response.ok()) {
+                return response.json().path("token").asText(null);
+            }
+            boolean busy = response.status() == 429 || response.status() == 503;
+            if (!busy || attempt >= options.loginRetries) {
+                return null;
+            }
+            long wait = response.retryAfterMillis(250);
+            Thread.sleep(wait + ThreadLocalRandom.current().nextLong(wait / 2 + 1));
+        }
+    }
+
+    // True when the server confirmed a registration for this client. A retry after an I/O error
+    // carries the same Idempotency-Key, so it cannot create a second registration.
+    private boolean register(Recorder recorder, String token, String eventId) throws InterruptedException {
+        HttpRequest request = api.request("/register/" + eventId, token)
+                .header("Idempotency-Key", UUID.randomUUID().toString())
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+        long start = System.nanoTime();
+        Api.Response response = api.send(recorder, "register", request, LoadTest::registerOutcome);
+        if (response.status() == -1) {
+            response = api.send(recorder, "register", request, LoadTest::registerOutcome);
+        }
+        if (response.status() == 201) {
+            return true;
+        }
+        if (response.status() == 202) {
+            // Write-behind mode: poll the ticket until the batch holding it has been written
+            String ticket = response.json().path("id").asText();
+            while (true) {
+                Thread.sleep(20);
+                Api.Response poll = api.send(recorder, "register.poll",
+                        api.request("/register/pending/" + ticket, token).GET().build());
+                String state = poll.ok() ? poll.json().path("state").asText() : "UNKNOWN";
+                if (!"PENDING".equals(state)) {
+                    recorder.record("register.confirmed", System.nanoTime() - start, state);
+                    return "CONFIRMED".equals(state);
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String registerOutcome(Api.Response response) {
+        if (response.status() == 409) {
+            return response.body() != null && response.body().contains("full") ? "409 full" : "409 duplicate";
+        }
+        return String.valueOf(response.status());
+    }
+
+    private String adminToken(Recorder setup) throws InterruptedException {
+        // Fails harmlessly when the account is left over from an earlier run
+        api.send(setup, "register-admin", api.request("/public/register-admin", null)
+                .header("Content-Type", "application/json")
+                .POST(Api.json(Map.of("firstName", "Load", "lastName", "Test",
+                        "email", options.adminEmail, "password", options.adminPassword)))
+                .build());
+        String token = login(setup, options.adminEmail, options.adminPassword);
+        if (token == null) {
+            throw new IllegalStateException("Could not log in as " + options.adminEmail);
+        }
+        return token;
+    }
+
+    private Event hotEvent(Recorder setup, String adminToken) throws InterruptedException {
+        if (options.eventId != null) {
+            Api.Response response = api.send(setup, "events", api.request("/events", adminToken).GET().build());
+            for (JsonNode event : response.json()) {
+                if (options.eventId.equals(event.path("id").asText())) {
+                    return new Event(options.eventId, event.path("maxParticipants").asInt());
+                }
+            }
+            throw new IllegalStateException("Event " + options.eventId + " not found");
+        }
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("eventName", "Load test " + LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        body.put("location", "Main Hall");
+        body.put("date", LocalDateTime.now().plusDays(30).withNano(0).toString());
+        body.put("maxParticipants", options.capacity);
+        Api.Response response = api.send(setup, "create-event", api.request("/admin/events", adminToken)
+                .header("Content-Type", "application/json")
+                .POST(Api.json(body))
+                .build());
+        if (!response.ok()) {
+            throw new IllegalStateException("Could not create the event: " + response.status() + " " + response.body());
+        }
+        return new Event(response.json().path("id").asText(), options.capacity);
+    }
+
+    // Accounts from earlier runs come back as duplicate rows and keep their password
+    private void importUsers(Recorder setup, String adminToken) throws InterruptedException {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < options.users; i++) {
+            ndjson.append("{\"firstName\":\"User\",\"lastName\":\"").append(i)
+                    .append("\",\"email\":\"").append(userEmail(i))
+                    .append("\",\"password\":\"").append(options.userPassword).append("\"}\n");
+        }
+        Api.Response response = api.send(setup, "import-users", api.request("/admin/users/import?format=ndjson", adminToken)
+                .header("Content-Type", "application/x-ndjson")
+                .timeout(Duration.ofMinutes(10))
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson.toString()))
+                .build());
+        if (!response.ok()) {
+            throw new IllegalStateException("User import failed: " + response.status() + " " + response.body());
+        }
+        JsonNode result = response.json();
+        System.out.printf("Imported %d users (%d already present or rejected)%n",
+                result.path("imported").asLong(), result.path("failed").asLong());
+    }
+
+    // Counts the event's registrations that hold a seat, i.e. everything not REJECTED
+    private boolean verify(Recorder setup, String adminToken, Event event, int confirmedByClients) throws InterruptedException {
+        Api.Response response = api.send(setup, "export-attendees", api.request(
+                        "/admin/events/" + event.id() + "/attendees/export?format=ndjson", adminToken)
+                .timeout(Duration.ofMinutes(5))
+                .GET()
+                .build());
+        if (!response.ok()) {
+            throw new IllegalStateException("Attendee export failed: " + response.status());
+        }
+        long seated = response.body().lines()
+                .filter(line -> !line.isBlank())
+                .filter(line -> !line.contains("\"status\":\"REJECTED\""))
+                .count();
+        boolean overbooked = seated > event.maxParticipants();
+
+        Map<String, Object> verification = new LinkedHashMap<>();
+        verification.put("maxParticipants", event.maxParticipants());
+        verification.put("registrationsHoldingSeats", seated);
+        verification.put("confirmedByClients", confirmedByClients);
+        verification.put("overbooked", overbooked);
+        report.put("verification", verification);
+
+        System.out.printf("%nSeats: %d of %d taken, %d confirmed to clients%n", seated, event.maxParticipants(), confirmedByClients);
+        if (overbooked) {
+            System.out.printf("OVERBOOKED by %d%n", seated - event.maxParticipants());
+        }
+        if (seated != confirmedByClients) {
+            System.out.println("WARNING: server and client counts differ (registrations from earlier runs, or lost confirmations)");
+        }
+        writeReport();
+        return overbooked;
+    }
+
+    private void phase(String name, double seconds, Recorder recorder) {
+        Map<String, Recorder.Summary> operations = recorder.summarize(seconds);
+        report.put(name, Map.of("seconds", seconds, "operations", operations));
+
+        System.out.printf("%n%s (%.2fs)%n", name, seconds);
+        System.out.printf("  %-18s %8s %9s %9s %9s %9s %9s  %s%n", "operation", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms", "outcomes");
+        operations.forEach((operation, summary) -> System.out.printf("  %-18s %8d %9.1f %9.1f %9.1f %9.1f %9.1f  %s%n",
+                operation, summary.requests(), summary.perSecond(), summary.p50Millis(), summary.p90Millis(),
+                summary.p99Millis(), summary.maxMillis(), summary.outcomes()));
+    }
+
+    private void writeReport() {
+        File file = new File(options.reportFile);
+        try {
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            Api.JSON.writer().with(SerializationFeature.INDENT_OUTPUT).writeValue(file, report);
+            System.out.println("Report written to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Could not write the report: " + e.getMessage());
+        }
+    }
+
+    private static String userEmail(int i) {
+        return "loadtest-user-" + i + "@example.com";
+    }
+
+    private static double seconds(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1e9;
+    }
+
+    private record Event(String id, int maxParticipants) {
+    }
+}
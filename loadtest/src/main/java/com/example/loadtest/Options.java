@@ -0,0 +1,50 @@
+package com.example.loadtest;
+
+import java.net.URI;
+import java.time.Duration;
+
+// Command line options, all as --name value
+public class Options {
+
+    URI baseUrl = URI.create("http://localhost:8080");
+    int users = 1000;
+    // Seats on the hot event; the flash crowd is sized against it
+    int capacity = 200;
+    // Use an existing event instead of creating one
+    String eventId;
+    String adminEmail = "loadtest-admin@example.com";
+    String adminPassword = "loadtest-admin";
+    String userPassword = "loadtest-user";
+    Duration requestTimeout = Duration.ofSeconds(30);
+    // Retries for 429 and 503 during login, honouring Retry-After
+    int loginRetries = 10;
+    String reportFile = "target/loadtest-report.json";
+
+    static Options parse(String[] args) {
+        Options options = new Options();
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for " + name);
+            }
+            String value = args[++i];
+            switch (name) {
+                case "--base-url" -> options.baseUrl = URI.create(value.endsWith("/") ? value.substring(0, value.length() - 1) : value);
+                case "--users" -> options.users = Integer.parseInt(value);
+                case "--capacity" -> options.capacity = Integer.parseInt(value);
+                case "--event-id" -> options.eventId = value;
+                case "--admin-email" -> options.adminEmail = value;
+                case "--admin-password" -> options.adminPassword = value;
+                case "--user-password" -> options.userPassword = value;
+                case "--timeout" -> options.requestTimeout = Duration.parse(value);
+                case "--login-retries" -> options.loginRetries = Integer.parseInt(value);
+                case "--report" -> options.reportFile = value;
+                default -> throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+        if (options.users < 1 || options.capacity < 1) {
+            throw new IllegalArgumentException("--users and --capacity must be positive");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies and outcomes per operation. Samples are kept whole; a run is at most a few hundred
+// thousand requests, so exact percentiles are cheaper than getting a histogram right.
+public class Recorder {
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    public void record(String operation, long nanos, String outcome) {
+        Operation op = operations.computeIfAbsent(operation, name -> new Operation());
+        op.latencies.add(nanos);
+        op.outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public Map<String, Summary> summarize(double seconds) {
+        Map<String, Summary> summaries = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> summaries.put(entry.getKey(), entry.getValue().summarize(seconds)));
+        return summaries;
+    }
+
+    private static class Operation {
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        Summary summarize(double seconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            Map<String, Long> counts = new LinkedHashMap<>();
+            outcomes.entrySet().stream()
+                    .sorted(Map.Entry.comparingByKey())
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+            return new Summary(sorted.length, sorted.length / Math.max(seconds, 1e-9),
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0),
+                    counts);
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    public record Summary(long requests, double perSecond, double p50Millis, double p90Millis,
+                          double p99Millis, double maxMillis, Map<String, Long> outcomes) {
+    }
+}